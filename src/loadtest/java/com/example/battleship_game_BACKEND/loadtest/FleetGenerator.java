@@ -0,0 +1,70 @@
+package com.example.battleship_game_BACKEND.loadtest;
+
+import com.example.battleship_game_BACKEND.placement.BoardValidator;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Случайная расстановка флота 1x4, 2x3, 3x2, 4x1 без касаний — матрица для game.ready.
+ * Результат дополнительно проверяется серверным BoardValidator, чтобы прогон
+ * не мерил путь отказа вместо пути старта игры.
+ */
+final class FleetGenerator {
+
+    private static final int SIZE = BoardValidator.BOARD_SIZE;
+    private static final int[] FLEET = {4, 3, 3, 2, 2, 2, 1, 1, 1, 1};
+    private static final int MAX_ATTEMPTS_PER_SHIP = 200;
+
+    private final BoardValidator validator = new BoardValidator();
+
+    Character[][] randomMatrix() {
+        while (true) {
+            Character[][] matrix = tryPlace();
+            if (matrix != null && validator.validateMatrix(matrix).isValid()) {
+                return matrix;
+            }
+        }
+    }
+
+    private Character[][] tryPlace() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Character[][] matrix = new Character[SIZE][SIZE];
+        for (Character[] row : matrix) {
+            Arrays.fill(row, ' ');
+        }
+
+        for (int size : FLEET) {
+            boolean placed = false;
+            for (int attempt = 0; attempt < MAX_ATTEMPTS_PER_SHIP && !placed; attempt++) {
+                boolean horizontal = random.nextBoolean();
+                int row = random.nextInt(horizontal ? SIZE : SIZE - size + 1);
+                int col = random.nextInt(horizontal ? SIZE - size + 1 : SIZE);
+                if (fits(matrix, row, col, size, horizontal)) {
+                    for (int k = 0; k < size; k++) {
+                        matrix[horizontal ? row : row + k][horizontal ? col + k : col] = 'S';
+                    }
+                    placed = true;
+                }
+            }
+            if (!placed) {
+                return null;
+            }
+        }
+        return matrix;
+    }
+
+    /** Корабль и его окрестность 1 клетка не должны пересекаться с уже стоящими кораблями */
+    private boolean fits(Character[][] matrix, int row, int col, int size, boolean horizontal) {
+        int endRow = horizontal ? row : row + size - 1;
+        int endCol = horizontal ? col + size - 1 : col;
+        for (int r = Math.max(0, row - 1); r <= Math.min(SIZE - 1, endRow + 1); r++) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(SIZE - 1, endCol + 1); c++) {
+                if (matrix[r][c] == 'S') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
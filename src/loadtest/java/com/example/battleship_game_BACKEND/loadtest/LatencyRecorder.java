@@ -0,0 +1,83 @@
+package com.example.battleship_game_BACKEND.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограммы задержек по операциям (signup, signin, connect, invite, accept, start, move, game).
+ *
+ * ConcurrentHistogram пишется из тысяч виртуальных потоков без блокировок;
+ * значения хранятся в наносекундах с тремя значащими цифрами, в отчёте — миллисекунды.
+ */
+final class LatencyRecorder {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    /** Записывает время от startNanos (System.nanoTime) до текущего момента */
+    void record(String operation, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        histograms.computeIfAbsent(operation, k -> new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3))
+                .recordValue(Math.min(Math.max(elapsed, 0), MAX_TRACKABLE_NANOS));
+    }
+
+    void failure(String operation) {
+        failures.computeIfAbsent(operation, k -> new LongAdder()).increment();
+    }
+
+    long count(String operation) {
+        Histogram histogram = histograms.get(operation);
+        return histogram != null ? histogram.getTotalCount() : 0;
+    }
+
+    void report(PrintStream out, Duration wallClock) {
+        double seconds = Math.max(wallClock.toMillis(), 1) / 1000.0;
+        out.printf("%-10s %9s %9s %9s %9s %9s %9s %9s %8s%n",
+                "operation", "count", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            Histogram h = entry.getValue();
+            LongAdder failed = failures.get(entry.getKey());
+            out.printf("%-10s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d%n",
+                    entry.getKey(),
+                    h.getTotalCount(),
+                    h.getTotalCount() / seconds,
+                    h.getValueAtPercentile(50) / NANOS_PER_MS,
+                    h.getValueAtPercentile(90) / NANOS_PER_MS,
+                    h.getValueAtPercentile(99) / NANOS_PER_MS,
+                    h.getValueAtPercentile(99.9) / NANOS_PER_MS,
+                    h.getMaxValue() / NANOS_PER_MS,
+                    failed != null ? failed.sum() : 0);
+        }
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(failures).entrySet()) {
+            if (!histograms.containsKey(entry.getKey())) {
+                out.printf("%-10s %9d %9s %9s %9s %9s %9s %9s %8d%n",
+                        entry.getKey(), 0, "-", "-", "-", "-", "-", "-", entry.getValue().sum());
+            }
+        }
+    }
+
+    /** Полные распределения в формате HdrHistogram (открываются в HistogramLogAnalyzer / hdrhistogram plotter) */
+    void writeDistributions(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(entry.getKey() + ".hgrm")))) {
+                entry.getValue().outputPercentileDistribution(out, NANOS_PER_MS);
+            }
+        }
+    }
+}
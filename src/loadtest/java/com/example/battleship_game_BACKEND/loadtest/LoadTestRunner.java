@@ -0,0 +1,139 @@
+package com.example.battleship_game_BACKEND.loadtest;
+
+import com.example.battleship_game_BACKEND.BattleshipGameBackendApplication;
+import com.example.battleship_game_BACKEND.shooting.AdaptiveDensityStrategy;
+import com.example.battleship_game_BACKEND.shooting.BaseShootingStrategy;
+import com.example.battleship_game_BACKEND.shooting.DensityAnalysisStrategy;
+import com.example.battleship_game_BACKEND.shooting.DiagonalProbabilityStrategy;
+import com.example.battleship_game_BACKEND.shooting.RandomFinishingStrategy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Нагрузочный прогон: N виртуальных игроков парами проходят регистрацию, вход,
+ * STOMP CONNECT, приглашение, game.ready и играют партии до конца.
+ *
+ * Запуск: ./gradlew loadTest -Dloadtest.players=1000 -Dloadtest.embedded=true
+ * Каждая пара — отдельный виртуальный поток, поэтому тысячи игроков не требуют
+ * тысяч платформенных потоков на стороне генератора нагрузки.
+ * При loadtest.embedded=true сервер поднимается в этом же процессе с профилем loadtest
+ * (H2 в памяти в режиме PostgreSQL) — прогон воспроизводится на одной машине без БД.
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private static final String PASSWORD = "load-test-password";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        Supplier<BaseShootingStrategy> strategies = strategy(settings.strategy());
+
+        ConfigurableApplicationContext server = null;
+        String baseUrl = settings.baseUrl();
+        if (settings.embedded()) {
+            server = new SpringApplicationBuilder(BattleshipGameBackendApplication.class)
+                    .profiles("loadtest")
+                    .run(args);
+            baseUrl = "http://localhost:" + server.getEnvironment().getProperty("local.server.port");
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        ObjectMapper mapper = new ObjectMapper();
+        FleetGenerator fleetGenerator = new FleetGenerator();
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        AtomicInteger failedPairs = new AtomicInteger();
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+
+        log.info("Load test {}: {} players ({} pairs) x {} games against {}, strategy={}",
+                runId, settings.players(), settings.pairs(), settings.gamesPerPair(), baseUrl, settings.strategy());
+
+        long started = System.nanoTime();
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .executor(virtualThreads)
+                     .connectTimeout(settings.timeout())
+                     .build()) {
+
+            String restUrl = baseUrl;
+            String webSocketUrl = LoadTestSettings.webSocketUrl(baseUrl);
+            long rampStepNanos = settings.pairs() > 0 ? settings.rampUp().toNanos() / settings.pairs() : 0;
+
+            List<Future<?>> pairs = new ArrayList<>(settings.pairs());
+            for (int i = 0; i < settings.pairs(); i++) {
+                SimulatedPlayer inviter = new SimulatedPlayer("lt-" + runId + "-" + (2 * i), PASSWORD,
+                        http, mapper, recorder, settings.timeout());
+                SimulatedPlayer opponent = new SimulatedPlayer("lt-" + runId + "-" + (2 * i + 1), PASSWORD,
+                        http, mapper, recorder, settings.timeout());
+                long startDelayNanos = rampStepNanos * i;
+
+                pairs.add(virtualThreads.submit(() -> {
+                    try {
+                        Thread.sleep(Duration.ofNanos(startDelayNanos));
+                        for (SimulatedPlayer player : List.of(inviter, opponent)) {
+                            player.signUp(restUrl);
+                            player.signIn(restUrl);
+                            player.connect(stompClient, webSocketUrl);
+                        }
+                        new PairScenario(inviter, opponent, fleetGenerator, strategies, recorder)
+                                .playGames(settings.gamesPerPair());
+                    } catch (Exception e) {
+                        failedPairs.incrementAndGet();
+                        recorder.failure(PairScenario.isTimeout(e) ? "timeout" : "pair");
+                        log.warn("Pair {} / {} failed: {}", inviter.getNickname(), opponent.getNickname(), e.toString());
+                    } finally {
+                        inviter.disconnect();
+                        opponent.disconnect();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> pair : pairs) {
+                pair.get();
+            }
+        } finally {
+            Duration wallClock = Duration.ofNanos(System.nanoTime() - started);
+            System.out.printf("%nLoad test %s finished in %.1f s: %d games completed, %d of %d pairs failed%n%n",
+                    runId, wallClock.toMillis() / 1000.0, recorder.count("game"), failedPairs.get(), settings.pairs());
+            recorder.report(System.out, wallClock);
+            recorder.writeDistributions(settings.outputDir().resolve(runId));
+            System.out.println("\nHistograms: " + settings.outputDir().resolve(runId).toAbsolutePath());
+
+            if (server != null) {
+                server.close();
+            }
+        }
+        System.exit(failedPairs.get() == 0 ? 0 : 1);
+    }
+
+    private static Supplier<BaseShootingStrategy> strategy(String name) {
+        return switch (name) {
+            case "random" -> RandomFinishingStrategy::new;
+            case "density" -> DensityAnalysisStrategy::new;
+            case "diagonal" -> DiagonalProbabilityStrategy::new;
+            case "adaptive" -> AdaptiveDensityStrategy::new;
+            default -> throw new IllegalArgumentException(
+                    "Unknown loadtest.strategy '" + name + "', expected random, density, diagonal or adaptive");
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.battleship_game_BACKEND.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Параметры прогона, читаются из системных свойств loadtest.*
+ * (gradle loadTest -Dloadtest.players=500 ...).
+ *
+ * @param baseUrl      адрес сервера; игнорируется при embedded=true
+ * @param players      число игроков, округляется вниз до чётного — игроки играют парами
+ * @param gamesPerPair сколько партий подряд играет каждая пара
+ * @param strategy     стратегия стрельбы ботов: random, density, diagonal, adaptive
+ * @param rampUp       за какое время стартуют все пары
+ * @param timeout      сколько ждать каждого ответа сервера
+ * @param embedded     поднять сервер в этом же процессе с профилем loadtest (H2 вместо PostgreSQL)
+ * @param outputDir    куда записать гистограммы (.hgrm)
+ */
+record LoadTestSettings(String baseUrl,
+                        int players,
+                        int gamesPerPair,
+                        String strategy,
+                        Duration rampUp,
+                        Duration timeout,
+                        boolean embedded,
+                        Path outputDir) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                System.getProperty("loadtest.base-url", "http://localhost:8080"),
+                Integer.getInteger("loadtest.players", 100) & ~1,
+                Integer.getInteger("loadtest.games-per-pair", 1),
+                System.getProperty("loadtest.strategy", "density"),
+                Duration.ofSeconds(Long.getLong("loadtest.ramp-up-seconds", 10L)),
+                Duration.ofSeconds(Long.getLong("loadtest.timeout-seconds", 30L)),
+                Boolean.getBoolean("loadtest.embedded"),
+                Path.of(System.getProperty("loadtest.output-dir", "build/loadtest"))
+        );
+    }
+
+    int pairs() {
+        return players / 2;
+    }
+
+    /** base-url вида http://host:port → ws://host:port/ws/websocket (SockJS отдаёт чистый WebSocket по этому пути) */
+    static String webSocketUrl(String baseUrl) {
+        return baseUrl.replaceFirst("^http", "ws") + "/ws/websocket";
+    }
+}
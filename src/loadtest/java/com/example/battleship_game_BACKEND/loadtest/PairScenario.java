@@ -0,0 +1,193 @@
+package com.example.battleship_game_BACKEND.loadtest;
+
+import com.example.battleship_game_BACKEND.shooting.BaseShootingStrategy;
+import com.example.battleship_game_BACKEND.shooting.ShotCoordinate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Полный сценарий одной пары игроков, повторяемый gamesPerPair раз:
+ * приглашение → принятие → game.ready с расстановками → партия до GAME_ENDED.
+ * В партии каждый игрок стреляет из своего виртуального потока по выбранной стратегии,
+ * задержка хода — от отправки /app/game.move до следующего game.state.
+ */
+final class PairScenario {
+
+    private static final String ACTIVE = "ACTIVE";
+    /** Защита от зацикливания бота: на поле 100 клеток */
+    private static final int MAX_SHOTS = 100;
+
+    private final SimulatedPlayer inviter;
+    private final SimulatedPlayer opponent;
+    private final FleetGenerator fleetGenerator;
+    private final Supplier<BaseShootingStrategy> strategies;
+    private final LatencyRecorder recorder;
+
+    PairScenario(SimulatedPlayer inviter, SimulatedPlayer opponent, FleetGenerator fleetGenerator,
+                 Supplier<BaseShootingStrategy> strategies, LatencyRecorder recorder) {
+        this.inviter = inviter;
+        this.opponent = opponent;
+        this.fleetGenerator = fleetGenerator;
+        this.strategies = strategies;
+        this.recorder = recorder;
+    }
+
+    void playGames(int games) throws Exception {
+        for (int i = 0; i < games; i++) {
+            playGame();
+        }
+    }
+
+    private void playGame() throws Exception {
+        long started = System.nanoTime();
+        inviter.send("/game.invite", Map.of("opponentId", opponent.getPlayerId()));
+        opponent.await(SimulatedPlayer.INVITATIONS,
+                p -> Objects.equals(asLong(p.get("inviterId")), inviter.getPlayerId()));
+        recorder.record("invite", started);
+
+        started = System.nanoTime();
+        opponent.send("/game.accept", Map.of("inviterId", inviter.getPlayerId()));
+        inviter.await(SimulatedPlayer.GAME_START, p -> p.get("gameId") == null);
+        opponent.await(SimulatedPlayer.GAME_START, p -> p.get("gameId") == null);
+        recorder.record("accept", started);
+
+        // Второй game.ready запускает создание игры в БД: меряем до GAME_START с gameId у обоих
+        started = System.nanoTime();
+        sendReady(inviter, opponent);
+        sendReady(opponent, inviter);
+        Long gameId = asLong(inviter.await(SimulatedPlayer.GAME_START, p -> p.get("gameId") != null).get("gameId"));
+        opponent.await(SimulatedPlayer.GAME_START, p -> gameId.equals(asLong(p.get("gameId"))));
+        recorder.record("start", started);
+
+        long gameStarted = System.nanoTime();
+        try (ExecutorService shooters = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Void>> sides = List.of(
+                    shooters.submit(() -> shoot(inviter, gameId)),
+                    shooters.submit(() -> shoot(opponent, gameId)));
+            for (Future<Void> side : sides) {
+                side.get();
+            }
+        }
+        recorder.record("game", gameStarted);
+    }
+
+    private void sendReady(SimulatedPlayer player, SimulatedPlayer other) {
+        player.send("/game.ready", Map.of(
+                "opponentId", other.getPlayerId(),
+                "gameType", "MULTIPLAYER",
+                "boardLayout", Map.of("matrix", fleetGenerator.randomMatrix())));
+    }
+
+    /**
+     * Цикл одного игрока: на каждом game.state, где ход его, — выстрел;
+     * попадание определяется по полю соперника, потопление — по уменьшению opponentShipsLeft.
+     * Ответом на выстрел считается только game.state с выросшим myShotsFired: повтор прежнего
+     * состояния иначе был бы засчитан как результат нового хода
+     */
+    private Void shoot(SimulatedPlayer player, Long gameId) throws Exception {
+        BaseShootingStrategy strategy = strategies.get();
+        Map<String, Object> lastState = null;
+        ShotCoordinate pending = null;
+        long sentAt = 0;
+        int shotsBeforeSend = 0;
+        int shipsLeft = -1;
+        int shots = 0;
+
+        while (true) {
+            SimulatedPlayer.Inbound message = player.next();
+            Map<String, Object> payload = message.payload();
+            if (!gameId.equals(asLong(payload.get("gameId"))) && payload.get("gameId") != null) {
+                continue; // хвосты прошлой партии
+            }
+
+            switch (message.destination()) {
+                case SimulatedPlayer.GAME_END -> {
+                    return null;
+                }
+                case SimulatedPlayer.GAME_ERROR -> {
+                    recorder.failure("move");
+                    if (pending == null || lastState == null) {
+                        throw new IllegalStateException(player.getNickname() + ": " + payload.get("message"));
+                    }
+                    // Клетка уже обстреляна (например, закрыта вокруг потопленного корабля) — берём другую
+                    strategy.setShotResult(false, false);
+                    pending = null;
+                }
+                case SimulatedPlayer.GAME_STATE -> {
+                    if (pending != null && shotsFired(payload) <= shotsBeforeSend) {
+                        continue; // состояние до нашего выстрела
+                    }
+                    lastState = payload;
+                    int opponentShipsLeft = ((Number) payload.get("opponentShipsLeft")).intValue();
+                    if (pending != null) {
+                        recorder.record("move", sentAt);
+                        boolean hit = cell(payload, pending) == 'H';
+                        boolean sunk = hit && shipsLeft >= 0 && opponentShipsLeft < shipsLeft;
+                        strategy.setShotResult(hit, sunk);
+                        pending = null;
+                    }
+                    shipsLeft = opponentShipsLeft;
+                }
+                default -> {
+                    continue;
+                }
+            }
+
+            if (pending == null && lastState != null
+                    && ACTIVE.equals(lastState.get("gameStatus"))
+                    && Boolean.TRUE.equals(lastState.get("isMyTurn"))) {
+                if (++shots > MAX_SHOTS) {
+                    throw new IllegalStateException(player.getNickname() + ": no game end after " + MAX_SHOTS + " shots");
+                }
+                pending = nextShot(strategy, lastState);
+                shotsBeforeSend = shotsFired(lastState);
+                sentAt = System.nanoTime();
+                player.send("/game.move", Map.of("gameId", gameId, "row", pending.y(), "column", pending.x()));
+            }
+        }
+    }
+
+    /** Клетки, уже открытые сервером (промахи вокруг потопленных кораблей), стратегии сообщаются без выстрела */
+    private ShotCoordinate nextShot(BaseShootingStrategy strategy, Map<String, Object> state) {
+        while (true) {
+            ShotCoordinate shot = strategy.getNextShot();
+            char known = cell(state, shot);
+            if (known != 'H' && known != 'M') {
+                return shot;
+            }
+            strategy.setShotResult(known == 'H', false);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static char cell(Map<String, Object> state, ShotCoordinate shot) {
+        List<List<Object>> field = (List<List<Object>>) state.get("opponentField");
+        Object value = field.get(shot.y()).get(shot.x());
+        String text = value != null ? value.toString() : "";
+        return text.isEmpty() ? ' ' : text.charAt(0);
+    }
+
+    private static int shotsFired(Map<String, Object> state) {
+        return state.get("myShotsFired") instanceof Number n ? n.intValue() : 0;
+    }
+
+    private static Long asLong(Object value) {
+        return value instanceof Number n ? n.longValue() : null;
+    }
+
+    static boolean isTimeout(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.battleship_game_BACKEND.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Один виртуальный игрок: REST-регистрация и вход, STOMP-сессия с JWT на CONNECT
+ * и входящий ящик, в который складываются сообщения всех его /user/queue/... подписок.
+ *
+ * Все вызовы блокирующие — игрок живёт в своём виртуальном потоке.
+ */
+final class SimulatedPlayer {
+
+    static final String INVITATIONS = "/user/queue/invitations";
+    static final String GAME_START = "/user/queue/game.start";
+    static final String GAME_STATE = "/user/queue/game.state";
+    static final String GAME_ERROR = "/user/queue/game.error";
+    static final String GAME_END = "/user/queue/game.end";
+    static final String GAME_TIMEOUT = "/user/queue/game.timeout";
+
+    private static final List<String> SUBSCRIPTIONS =
+            List.of(INVITATIONS, GAME_START, GAME_STATE, GAME_ERROR, GAME_END, GAME_TIMEOUT);
+    private static final int MAX_SIGNIN_ATTEMPTS = 20;
+
+    record Inbound(String destination, Map<String, Object> payload) {
+    }
+
+    private final String nickname;
+    private final String password;
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final LatencyRecorder recorder;
+    private final Duration timeout;
+    private final BlockingQueue<Inbound> inbox = new LinkedBlockingQueue<>();
+
+    private Long playerId;
+    private String token;
+    private StompSession session;
+
+    SimulatedPlayer(String nickname, String password, HttpClient http, ObjectMapper mapper,
+                    LatencyRecorder recorder, Duration timeout) {
+        this.nickname = nickname;
+        this.password = password;
+        this.http = http;
+        this.mapper = mapper;
+        this.recorder = recorder;
+        this.timeout = timeout;
+    }
+
+    Long getPlayerId() {
+        return playerId;
+    }
+
+    String getNickname() {
+        return nickname;
+    }
+
+    void signUp(String baseUrl) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        HttpResponse<String> response = postJson(baseUrl + "/api/auth/signup",
+                Map.of("nickname", nickname, "password", password));
+        if (response.statusCode() != 200) {
+            recorder.failure("signup");
+            throw new IllegalStateException("signup " + nickname + " -> HTTP " + response.statusCode() + ": " + response.body());
+        }
+        recorder.record("signup", started);
+        applyJwt(response.body());
+    }
+
+    /**
+     * Вход через bcrypt-пул. 429/503 — штатная реакция защиты входа на всплеск,
+     * поэтому такие ответы повторяются с нарастающей паузой и считаются как signin-retry
+     */
+    void signIn(String baseUrl) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        for (int attempt = 1; attempt <= MAX_SIGNIN_ATTEMPTS; attempt++) {
+            HttpResponse<String> response = postJson(baseUrl + "/api/auth/signin",
+                    Map.of("nickname", nickname, "password", password));
+            int status = response.statusCode();
+            if (status == 200) {
+                recorder.record("signin", started);
+                applyJwt(response.body());
+                return;
+            }
+            if (status != 429 && status != 503) {
+                recorder.failure("signin");
+                throw new IllegalStateException("signin " + nickname + " -> HTTP " + status + ": " + response.body());
+            }
+            recorder.failure("signin-retry");
+            Thread.sleep(Math.min(50L * attempt, 1000L));
+        }
+        recorder.failure("signin");
+        throw new IllegalStateException("signin " + nickname + " throttled " + MAX_SIGNIN_ATTEMPTS + " times");
+    }
+
+    void connect(WebSocketStompClient client, String webSocketUrl) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+
+        long started = System.nanoTime();
+        try {
+            session = client.connectAsync(webSocketUrl, new WebSocketHttpHeaders(), connectHeaders,
+                            new StompSessionHandlerAdapter() {
+                            })
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            recorder.failure("connect");
+            throw e;
+        }
+        for (String destination : SUBSCRIPTIONS) {
+            session.subscribe(destination, new InboxHandler(destination));
+        }
+        recorder.record("connect", started);
+    }
+
+    void send(String destination, Object payload) {
+        session.send("/app" + destination, payload);
+    }
+
+    /** Следующее входящее сообщение любого типа */
+    Inbound next() throws InterruptedException, TimeoutException {
+        Inbound message = inbox.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (message == null) {
+            throw new TimeoutException(nickname + ": no message within " + timeout);
+        }
+        return message;
+    }
+
+    /**
+     * Ждёт сообщение с нужного назначения; остальные (например, устаревшие состояния
+     * прошлой партии) пропускаются
+     */
+    Map<String, Object> await(String destination, Predicate<Map<String, Object>> filter)
+            throws InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long left = deadline - System.nanoTime();
+            Inbound message = left > 0 ? inbox.poll(left, TimeUnit.NANOSECONDS) : null;
+            if (message == null) {
+                throw new TimeoutException(nickname + ": no " + destination + " within " + timeout);
+            }
+            if (message.destination().equals(destination) && filter.test(message.payload())) {
+                return message.payload();
+            }
+        }
+    }
+
+    void disconnect() {
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    private HttpResponse<String> postJson(String url, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void applyJwt(String body) throws IOException {
+        Map<?, ?> jwt = mapper.readValue(body, Map.class);
+        token = (String) jwt.get("token");
+        playerId = ((Number) jwt.get("id")).longValue();
+    }
+
+    private final class InboxHandler implements StompFrameHandler {
+        private final String destination;
+
+        private InboxHandler(String destination) {
+            this.destination = destination;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void handleFrame(StompHeaders headers, Object payload) {
+            inbox.add(new Inbound(destination, (Map<String, Object>) payload));
+        }
+    }
+}
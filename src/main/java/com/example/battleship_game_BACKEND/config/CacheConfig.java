@@ -0,0 +1,58 @@
+package com.example.battleship_game_BACKEND.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Все кэши приложения — Caffeine за Spring CacheManager.
+ *
+ * У каждого кэша свой предел размера и срок жизни; при переполнении Caffeine вытесняет
+ * редко используемые записи по одной, без полной очистки и лавины повторных загрузок.
+ * Статистика включена, Boot публикует её в Micrometer как cache.*{cache=...}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Проверенные JWT: token -> Claims */
+    public static final String JWT_CLAIMS = "jwtClaims";
+
+    /** Снимки строк player: playerId -> PlayerSnapshot */
+    public static final String PLAYERS = "players";
+
+    /** Карточки игроков для приглашений: playerId -> никнейм и аватар */
+    public static final String PLAYER_CARDS = "playerCards";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${jwt.claims-cache.max-size:10000}") long claimsMaxSize,
+                                     @Value("${jwt.claims-cache.ttl-seconds:300}") long claimsTtlSeconds,
+                                     @Value("${app.player-cache.max-size:10000}") long playersMaxSize,
+                                     @Value("${app.player-cache.ttl-seconds:30}") long playersTtlSeconds,
+                                     @Value("${app.player-cards.max-size:100000}") long cardsMaxSize) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setAllowNullValues(false);
+        manager.registerCustomCache(JWT_CLAIMS, Caffeine.newBuilder()
+                .maximumSize(claimsMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(claimsTtlSeconds))
+                .recordStats()
+                .build());
+        manager.registerCustomCache(PLAYERS, Caffeine.newBuilder()
+                .maximumSize(playersMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(playersTtlSeconds))
+                .recordStats()
+                .build());
+        // Без срока жизни: карточку обновляют регистрация и смена аватара
+        manager.registerCustomCache(PLAYER_CARDS, Caffeine.newBuilder()
+                .maximumSize(cardsMaxSize)
+                .recordStats()
+                .build());
+        return manager;
+    }
+}
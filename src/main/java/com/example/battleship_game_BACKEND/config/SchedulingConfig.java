@@ -0,0 +1,27 @@
+package com.example.battleship_game_BACKEND.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Общий планировщик фоновых задач приложения (рассылка лобби, запись рейтингов,
+ * подбор соперников, таймеры, очистка игр).
+ *
+ * Сервисы получают его по имени APP_SCHEDULER и запускают свои задачи
+ * по ApplicationReadyEvent, а не в конструкторе. Размер пула и префикс потоков —
+ * spring.task.scheduling.*; Spring останавливает планировщик при закрытии контекста.
+ * Брокер STOMP держит свой messageBrokerTaskScheduler, поэтому бин берётся по имени.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    /** Имя, под которым планировщик ищет и @Scheduled */
+    public static final String APP_SCHEDULER = "taskScheduler";
+
+    @Bean(name = APP_SCHEDULER)
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
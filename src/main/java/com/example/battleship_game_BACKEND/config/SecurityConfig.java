@@ -3,6 +3,7 @@ package com.example.battleship_game_BACKEND.config;
 import com.example.battleship_game_BACKEND.security.JwtAuthenticationEntryPoint;
 import com.example.battleship_game_BACKEND.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -31,8 +32,8 @@ public class SecurityConfig {
     private final CorsConfigurationSource corsConfigurationSource; // Внедряем бин
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -55,6 +56,8 @@ public class SecurityConfig {
                                 .requestMatchers("/api/auth/**").permitAll()
                                 .requestMatchers("/api/players/**").permitAll()
                                 .requestMatchers("/ws/**").permitAll()
+                                // Проверка живости и сбор метрик: management-порт слушает только 127.0.0.1 (management.server.address)
+                                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                                 .requestMatchers("/api/players/all").permitAll()
                                 .requestMatchers("/api/players/current").authenticated()
                                 .requestMatchers("/api/auth/change-password").authenticated()
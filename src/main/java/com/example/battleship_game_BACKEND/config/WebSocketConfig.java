@@ -1,16 +1,60 @@
 package com.example.battleship_game_BACKEND.config;
+import com.example.battleship_game_BACKEND.metrics.StompTrafficInterceptor;
+import com.example.battleship_game_BACKEND.security.WebSocketAuthInterceptor;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final long HEARTBEAT_MS = 10_000;
+
+    private final WebSocketAuthInterceptor webSocketAuthInterceptor;
+    private final StompTrafficInterceptor stompTrafficInterceptor;
+
+    /**
+     * Тот же переключатель, что и для Tomcat: обработчики @MessageMapping ходят в БД
+     * (findById в приглашениях, создание игры), и на виртуальных потоках блокирующий
+     * JDBC-вызов не занимает поток пула канала
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Планировщик heartbeat'ов брокера — не бин: бин TaskScheduler в контексте
+     * отключил бы автоконфигурируемый планировщик Spring Boot для @Scheduled
+     */
+    private final ThreadPoolTaskScheduler brokerHeartbeatScheduler = createHeartbeatScheduler();
+
+    private static ThreadPoolTaskScheduler createHeartbeatScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("ws-heartbeat-");
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    @PreDestroy
+    void shutdownHeartbeatScheduler() {
+        brokerHeartbeatScheduler.shutdown();
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // Кадры одной сессии обрабатываются по очереди: ход не обгонит предыдущий ход
+        // или сдачу того же игрока, какой бы исполнитель ни стоял за входящим каналом
+        registry.setPreserveReceiveOrder(true);
         registry.addEndpoint("/ws")
                 // ВАЖНО: origin фронтенда
                 .setAllowedOriginPatterns("*")
@@ -21,8 +65,35 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/queue", "/topic");
+        // Heartbeat'ы позволяют брокеру закрывать «мёртвые» сессии,
+        // чтобы реестр онлайн-игроков получал SessionDisconnectEvent
+        registry.enableSimpleBroker("/queue", "/topic")
+                .setHeartbeatValue(new long[]{HEARTBEAT_MS, HEARTBEAT_MS})
+                .setTaskScheduler(brokerHeartbeatScheduler);
+        if (virtualThreads) {
+            // Исходящий канал рассылает параллельно, поэтому порядок отправки в сессию
+            // нужно сохранять явно: game.start должен прийти раньше game.state
+            registry.setPreservePublishOrder(true);
+        }
         registry.setApplicationDestinationPrefixes("/app");
         registry.setUserDestinationPrefix("/user");
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // JWT проверяется на STOMP CONNECT, principal живёт всю сессию
+        registration.interceptors(webSocketAuthInterceptor);
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Счётчики исходящих сообщений по назначению
+        registration.interceptors(stompTrafficInterceptor);
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-outbound-"));
+        }
+    }
 }
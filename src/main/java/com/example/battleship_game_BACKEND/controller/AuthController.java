@@ -7,72 +7,73 @@ import com.example.battleship_game_BACKEND.dto.SignupRequest;
 import com.example.battleship_game_BACKEND.model.Player;
 import com.example.battleship_game_BACKEND.repository.PlayerRepository;
 import com.example.battleship_game_BACKEND.security.JwtTokenUtil;
+import com.example.battleship_game_BACKEND.security.PlayerPrincipal;
 import com.example.battleship_game_BACKEND.service.AuthService;
+import com.example.battleship_game_BACKEND.service.LoginService;
+import com.example.battleship_game_BACKEND.service.PlayerCacheService;
+import com.example.battleship_game_BACKEND.service.PlayerCardService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
 @RequiredArgsConstructor
+@Slf4j
 public class AuthController {
     private final AuthService authService;
-    private final AuthenticationManager authenticationManager;
+    private final LoginService loginService;
     private final JwtTokenUtil jwtTokenUtil;
     private final PlayerRepository playerRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PlayerCacheService playerCacheService;
+    private final PlayerCardService playerCardService;
 
-    /** Запрос для авторизации */
+    /** Запрос для авторизации (проверка пароля выполняется на отдельном bcrypt-пуле) */
     @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
-        try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getNickname(),
-                            loginRequest.getPassword()
-                    )
-            );
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            Player player = (Player) authentication.getPrincipal();
-            Player playerToUpdate = playerRepository.findByNickname(player.getNickname())
-                    .orElseThrow(() -> new RuntimeException("Player not found after auth"));
-
-            playerToUpdate.setStatus(true);
-            playerRepository.save(playerToUpdate);
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@RequestBody LoginRequest loginRequest,
+                                                                 HttpServletRequest request) {
+        return loginService.login(loginRequest, request.getRemoteAddr())
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(this::loginErrorResponse);
+    }
 
-            String jwt = jwtTokenUtil.generateToken(player);
-            JwtResponse response = new JwtResponse(
-                    jwt, "Bearer",
-                    player.getPlayerId(),
-                    player.getNickname(),
-                    player.getAvatarUrl() != null ? player.getAvatarUrl() : Player.DEFAULT_AVATAR
-            );
+    private ResponseEntity<?> loginErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            System.err.println("Ошибка входа: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "Неверный логин или пароль"));
+        if (cause instanceof LoginService.LoginThrottledException) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Map.of("error", cause.getMessage()));
         }
+        if (cause instanceof LoginService.LoginOverloadedException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", cause.getMessage()));
+        }
+
+        log.debug("Ошибка входа: {}", cause.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Неверный логин или пароль"));
     }
 
     /** Запрос для регистрации */
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@RequestBody SignupRequest signUpRequest) {
         try {
-            System.out.println("Получен запрос на регистрацию: " + signUpRequest.getNickname());
+            log.debug("Получен запрос на регистрацию: {}", signUpRequest.getNickname());
             if (playerRepository.existsByNickname(signUpRequest.getNickname())) {
                 return ResponseEntity.badRequest()
                         .body(Map.of("error", "Игрок с таким никнеймом уже существует"));
@@ -83,6 +84,7 @@ public class AuthController {
             player.setAvatarUrl(Player.DEFAULT_AVATAR);
             player.setStatus(true);
             Player savedPlayer = playerRepository.save(player);
+            playerCardService.put(savedPlayer);
             String jwt = jwtTokenUtil.generateToken(savedPlayer);
             JwtResponse response = new JwtResponse(
                     jwt, "Bearer",
@@ -90,10 +92,10 @@ public class AuthController {
                     savedPlayer.getNickname(),
                     savedPlayer.getAvatarUrl() != null ? savedPlayer.getAvatarUrl() : Player.DEFAULT_AVATAR
             );
-            System.out.println("Успешная регистрация для: " + signUpRequest.getNickname());
+            log.info("Успешная регистрация: игрок {}", savedPlayer.getPlayerId());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("Ошибка регистрации: " + e.getMessage());
+            log.warn("Ошибка регистрации: {}", e.getMessage());
             return ResponseEntity.badRequest()
                     .body(Map.of("error", "Ошибка при регистрации: " + e.getMessage()));
         }
@@ -101,10 +103,10 @@ public class AuthController {
 
     /** Запрос для выхода из системы*/
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(@AuthenticationPrincipal Player player) {
-        if (player != null) {
-            player.setStatus(false);
-            playerRepository.save(player);
+    public ResponseEntity<?> logout(@AuthenticationPrincipal PlayerPrincipal principal) {
+        if (principal != null) {
+            playerRepository.updateStatus(principal.getPlayerId(), false);
+            playerCacheService.evict(principal.getPlayerId());
         }
         return ResponseEntity.ok().build();
     }
@@ -118,37 +120,32 @@ public class AuthController {
     /** Смена пароля */
     @PostMapping("/change-password")
     public ResponseEntity<?> changePassword(@RequestBody ChangePasswordRequest changePasswordRequest,
-                                            @AuthenticationPrincipal Player player) {
+                                            @AuthenticationPrincipal PlayerPrincipal principal) {
         try {
-            System.out.println("Получен запрос на смену пароля для пользователя: " +
-                    (player != null ? player.getNickname() : "null"));
-            System.out.println("Старый пароль: " + changePasswordRequest.getOldPassword());
-            System.out.println("Новый пароль: " + changePasswordRequest.getNewPassword());
-
-            if (player == null) {
-                System.out.println("Ошибка: пользователь не аутентифицирован");
+            if (principal == null) {
                 Map<String, String> errorResponse = new HashMap<>();
                 errorResponse.put("message", "Пользователь не аутентифицирован");
                 return ResponseEntity.status(401).body(errorResponse);
             }
 
-            authService.changePassword(player, changePasswordRequest.getOldPassword(), changePasswordRequest.getNewPassword());
+            authService.changePassword(principal.getPlayerId(),
+                    changePasswordRequest.getOldPassword(), changePasswordRequest.getNewPassword());
 
-            System.out.println("Пароль успешно изменен для пользователя: " + player.getNickname());
+            log.info("Пароль изменён: игрок {}", principal.getPlayerId());
 
             Map<String, String> response = new HashMap<>();
             response.put("message", "Пароль успешно изменен");
             return ResponseEntity.ok(response);
 
         } catch (RuntimeException e) {
-            System.out.println("Ошибка при смене пароля: " + e.getMessage());
+            log.debug("Ошибка при смене пароля: {}", e.getMessage());
 
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(errorResponse);
 
         } catch (Exception e) {
-            System.out.println("Неожиданная ошибка при смене пароля: " + e.getMessage());
+            log.error("Неожиданная ошибка при смене пароля", e);
 
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("message", "Ошибка при смене пароля: " + e.getMessage());
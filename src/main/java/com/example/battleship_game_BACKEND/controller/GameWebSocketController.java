@@ -1,68 +1,91 @@
     package com.example.battleship_game_BACKEND.controller;
 
     import com.example.battleship_game_BACKEND.dto.*;
-    import com.example.battleship_game_BACKEND.model.Game;
-    import com.example.battleship_game_BACKEND.model.GameBoard;
     import com.example.battleship_game_BACKEND.model.GameStatus;
-    import com.example.battleship_game_BACKEND.model.Player;
-    import com.example.battleship_game_BACKEND.repository.GameBoardRepository;
+    import com.example.battleship_game_BACKEND.placement.BoardValidator;
     import com.example.battleship_game_BACKEND.repository.GameRepository;
-    import com.example.battleship_game_BACKEND.repository.PlayerRepository;
+    import com.example.battleship_game_BACKEND.service.GameCompletionService;
     import com.example.battleship_game_BACKEND.service.GameLogicService;
+    import com.example.battleship_game_BACKEND.security.PlayerPrincipal;
+    import com.example.battleship_game_BACKEND.service.GameStartService;
     import com.example.battleship_game_BACKEND.service.InMemoryGameStateService;
+    import com.example.battleship_game_BACKEND.service.PendingGameRegistry;
+    import com.example.battleship_game_BACKEND.service.PlayerCardService;
+    import com.example.battleship_game_BACKEND.service.PlayerMessagingService;
     import lombok.RequiredArgsConstructor;
+    import lombok.extern.slf4j.Slf4j;
+    import org.springframework.beans.factory.annotation.Value;
     import org.springframework.messaging.handler.annotation.MessageMapping;
-    import org.springframework.messaging.simp.SimpMessagingTemplate;
     import org.springframework.stereotype.Controller;
 
+    import java.security.Principal;
+
     import java.time.LocalDateTime;
     import java.util.HashMap;
     import java.util.Map;
-    import java.util.concurrent.ConcurrentHashMap;
     import java.util.concurrent.ThreadLocalRandom;
 
     @Controller
     @RequiredArgsConstructor
+    @Slf4j
     public class GameWebSocketController {
 
-        private final PlayerRepository playerRepository;
-        private final SimpMessagingTemplate messagingTemplate;
+        private final PlayerCardService playerCardService;
+        private final PlayerMessagingService playerMessagingService;
         private final GameRepository gameRepository;
-        private final GameBoardRepository gameBoardRepository;
-        private final Map<String, PendingGame> pendingGames = new ConcurrentHashMap<>();
         private final GameLogicService gameLogicService;
-        private final InMemoryGameStateService inMemoryGameStateService;
+        private final BoardValidator boardValidator;
+        private final GameCompletionService gameCompletionService;
+        private final PendingGameRegistry pendingGameRegistry;
+        private final GameStartService gameStartService;
+        private final InMemoryGameStateService gameStateService;
+
+        /** В журнал пишется примерно один ход из moveLogSampleRate */
+        private int moveLogSampleRate;
+
+        /** 0 и отрицательные значения означают «каждый ход»: nextInt(0) бросил бы исключение */
+        @Value("${app.logging.move-sample-rate:100}")
+        void setMoveLogSampleRate(int moveLogSampleRate) {
+            this.moveLogSampleRate = Math.max(1, moveLogSampleRate);
+        }
 
-        private String makeKey(Long a, Long b) {
-            long min = Math.min(a, b);
-            long max = Math.max(a, b);
-            return min + "-" + max;
+        /**
+         * Игрок определяется по principal, привязанному к сессии на STOMP CONNECT,
+         * а не по playerId из тела сообщения
+         */
+        private Long currentPlayerId(Principal principal) {
+            if (principal instanceof PlayerPrincipal playerPrincipal) {
+                return playerPrincipal.getPlayerId();
+            }
+            throw new IllegalStateException("STOMP session is not authenticated");
         }
+
         /**
          * 1. ИНИЦИАТОР шлёт приглашение
          * payload: GameInvitationRequest(inviterId, opponentId, inviterNickname, inviterAvatarUrl)
          * Мы НИЧЕГО не создаём в БД, просто пересылаем оппоненту.
          */
         @MessageMapping("/game.invite")
-        public void sendInvitation(GameInvitationRequest request) {
-            System.out.println("WS invite request = " + request);
+        public void sendInvitation(GameInvitationRequest request, Principal principal) {
+            request.setInviterId(currentPlayerId(principal));
+            log.debug("WS invite: {} -> {}", request.getInviterId(), request.getOpponentId());
 
-            Player inviter = playerRepository.findById(request.getInviterId())
-                    .orElseThrow(() -> new RuntimeException("Inviter not found"));
-            Player opponent = playerRepository.findById(request.getOpponentId())
-                    .orElseThrow(() -> new RuntimeException("Opponent not found"));
+            PlayerCard inviter = playerCardService.getCard(request.getInviterId());
+            PlayerCard opponent = playerCardService.getCard(request.getOpponentId());
 
             GameInvitationResponse response = new GameInvitationResponse();
             // пока реальной игры нет — можно поставить 0L
             response.setGameId(0L);
-            response.setInviterId(inviter.getPlayerId());
-            response.setInviterNickname(inviter.getNickname());
-            response.setInviterAvatarUrl(inviter.getAvatarUrl());
+            response.setInviterId(inviter.playerId());
+            response.setInviterNickname(inviter.nickname());
+            response.setInviterAvatarUrl(inviter.avatarUrl());
+            response.setInviterRating(inviter.rating());
             response.setTimestamp(LocalDateTime.now());
 
             // Шлём ТОЛЬКО оппоненту
-            messagingTemplate.convertAndSend(
-                    "/queue/invitations/" + opponent.getPlayerId(),
+            playerMessagingService.sendToPlayer(
+                    opponent.playerId(),
+                    PlayerMessagingService.INVITATIONS,
                     response
             );
         }
@@ -73,33 +96,35 @@
          * Никакой Game в БД — просто шлём нотификации обоим.
          */
         @MessageMapping("/game.accept")
-        public void acceptInvitation(GameAcceptRequest request) {
-            Player inviter = playerRepository.findById(request.getInviterId())
-                    .orElseThrow(() -> new RuntimeException("Inviter not found"));
-            Player opponent = playerRepository.findById(request.getOpponentId())
-                    .orElseThrow(() -> new RuntimeException("Opponent not found"));
+        public void acceptInvitation(GameAcceptRequest request, Principal principal) {
+            request.setOpponentId(currentPlayerId(principal));
+            PlayerCard inviter = playerCardService.getCard(request.getInviterId());
+            PlayerCard opponent = playerCardService.getCard(request.getOpponentId());
 
             GameStartNotification forInviter = new GameStartNotification();
             forInviter.setGameId(null);
-            forInviter.setOpponentId(opponent.getPlayerId());
-            forInviter.setOpponentNickname(opponent.getNickname());
-            forInviter.setOpponentAvatarUrl(opponent.getAvatarUrl());
+            forInviter.setOpponentId(opponent.playerId());
+            forInviter.setOpponentNickname(opponent.nickname());
+            forInviter.setOpponentAvatarUrl(opponent.avatarUrl());
+            forInviter.setOpponentRating(opponent.rating());
 
             GameStartNotification forOpponent = new GameStartNotification();
             forOpponent.setGameId(null);
-            forOpponent.setOpponentId(inviter.getPlayerId());
-            forOpponent.setOpponentNickname(inviter.getNickname());
-            forOpponent.setOpponentAvatarUrl(inviter.getAvatarUrl());
+            forOpponent.setOpponentId(inviter.playerId());
+            forOpponent.setOpponentNickname(inviter.nickname());
+            forOpponent.setOpponentAvatarUrl(inviter.avatarUrl());
+            forOpponent.setOpponentRating(inviter.rating());
 
             // инициатор
-            messagingTemplate.convertAndSend(
-                    "/queue/game.start/" + inviter.getPlayerId(),
+            playerMessagingService.sendToPlayer(
+                    inviter.playerId(),
+                    PlayerMessagingService.GAME_START,
                     forInviter
             );
-            System.out.println("payload=" + forInviter + " to " + "/queue/game.start/" + inviter.getPlayerId());
             // принявший
-            messagingTemplate.convertAndSend(
-                    "/queue/game.start/" + opponent.getPlayerId(),
+            playerMessagingService.sendToPlayer(
+                    opponent.playerId(),
+                    PlayerMessagingService.GAME_START,
                     forOpponent
             );
         }
@@ -111,38 +136,49 @@
          * Просто уведомляем инициатора, что его послали :)
          */
         @MessageMapping("/game.reject")
-        public void rejectInvitation(GameRejectRequest request) {
-            Player inviter = playerRepository.findById(request.getInviterId())
-                    .orElseThrow(() -> new RuntimeException("Inviter not found"));
-            Player opponent = playerRepository.findById(request.getOpponentId())
-                    .orElseThrow(() -> new RuntimeException("Opponent not found"));
+        public void rejectInvitation(GameRejectRequest request, Principal principal) {
+            request.setOpponentId(currentPlayerId(principal));
+            // Отказ адресуется по id — карточки игроков здесь не нужны
+            Long inviterId = request.getInviterId();
+            Long opponentId = request.getOpponentId();
 
             GameStartNotification notification = new GameStartNotification();
             notification.setGameId(null);
-            notification.setOpponentId(opponent.getPlayerId());
+            notification.setOpponentId(opponentId);
             notification.setOpponentNickname("rejected");
             notification.setOpponentAvatarUrl(null);
 
-            messagingTemplate.convertAndSend(
-                    "/queue/game.rejected/" + inviter.getPlayerId(),
+            playerMessagingService.sendToPlayer(
+                    inviterId,
+                    PlayerMessagingService.GAME_REJECTED,
                     notification
             );
         }
 
         @MessageMapping("/game.ready")
-        public void playerReady(GameReadyMessage msg) {
+        public void playerReady(GameReadyMessage msg, Principal principal) {
+            msg.setPlayerId(currentPlayerId(principal));
             Long pId = msg.getPlayerId();
             Long oppId = msg.getOpponentId();
 
             if (pId == null || oppId == null) {
-                System.out.println("GameReady: playerId или opponentId == null");
+                log.debug("GameReady: playerId или opponentId == null");
                 return;
             }
 
-            String key = makeKey(pId, oppId);
-            System.out.println("GameReady from player " + pId + " vs " + oppId + " key=" + key);
+            // Проверяем расстановку до того, как она попадёт в реестр ожидающих пар и в БД
+            BoardValidator.Violation violation = boardValidator.validateLayout(msg.getBoardLayout());
+            if (!violation.isValid()) {
+                log.info("GameReady: невалидная расстановка от игрока {}: {}", pId, violation);
+                sendErrorToPlayer(pId, violation.getMessage());
+                return;
+            }
+
+            long key = PendingGameRegistry.key(pId, oppId);
+            log.debug("GameReady from player {} vs {}", pId, oppId);
 
-            pendingGames.compute(key, (k, existing) -> {
+            PendingGame[] ready = new PendingGame[1];
+            pendingGameRegistry.compute(key, (k, existing) -> {
                 if (existing == null) {
                     // Первый, кто нажал «Готов»
                     PendingGame pg = new PendingGame();
@@ -163,10 +199,10 @@
                             existing.setGameType(msg.getGameType());
                         }
 
-                        // если оба есть и у обоих есть доски — запуск игры
+                        // если оба есть и у обоих есть доски — забираем пару из реестра
                         if (existing.getPlayer1Id() != null && existing.getPlayer2Id() != null
                                 && existing.getBoard1() != null && existing.getBoard2() != null) {
-                            startGameFromPending(k, existing);
+                            ready[0] = existing;
                             // возвращаем null → удаляем из карты
                             return null;
                         }
@@ -174,115 +210,11 @@
                     }
                 }
             });
-        }
-
-        private void startGameFromPending(String key, PendingGame pg) {
-            Long p1Id = pg.getPlayer1Id();
-            Long p2Id = pg.getPlayer2Id();
-
-            System.out.println("Запускаем игру для пары: " + key);
-
-            Player p1 = playerRepository.findById(p1Id)
-                    .orElseThrow(() -> new RuntimeException("Player1 not found " + p1Id));
-            Player p2 = playerRepository.findById(p2Id)
-                    .orElseThrow(() -> new RuntimeException("Player2 not found " + p2Id));
-
-            // 🔹 здесь ты парсишь layout в GameBoard
-            GameBoard board1 = createBoardFromLayout(pg.getBoard1());
-            GameBoard board2 = createBoardFromLayout(pg.getBoard2());
-
-            gameBoardRepository.save(board1);
-            gameBoardRepository.save(board2);
-
-            Game game = new Game();
-            game.setPlayer1(p1);
-            game.setPlayer2(p2);
-            game.setGameBoard1(board1);
-            game.setGameBoard2(board2);
-            game.setGameStatus(GameStatus.ACTIVE);
-            game.setGameType(pg.getGameType());
-            game.setStartDate(LocalDateTime.now());
-
-            Game saved = gameRepository.save(game);
-
-            // рандомим, кто ходит первым
-            Long currentTurn = ThreadLocalRandom.current().nextBoolean() ?
-                    p1.getPlayerId() : p2.getPlayerId();
-            inMemoryGameStateService.initializeGameState(saved, currentTurn);
-
-            // 1. Отправляем обоим GameStartNotification
-            sendGameStartToPlayers(saved, currentTurn);
-
-
-            sendGameStateToPlayer(saved.getGameId(), p1Id);
-            sendGameStateToPlayer(saved.getGameId(), p2Id);
-        }
-
-        private GameBoard createBoardFromLayout(BoardLayoutDTO layout /*, Player owner если пригодится позже */) {
-            GameBoard board = new GameBoard();
 
-            // На всякий случай создаём нормальный массив 10x10
-            Character[][] matrix = new Character[10][10];
-
-            // Если layout пришёл — аккуратно копируем, иначе заполняем пробелами
-            Character[][] src = (layout != null) ? layout.getMatrix() : null;
-
-            for (int row = 0; row < 10; row++) {
-                for (int col = 0; col < 10; col++) {
-                    Character c = ' '; // по умолчанию пустая клетка
-
-                    if (src != null
-                            && row < src.length
-                            && src[row] != null
-                            && col < src[row].length
-                            && src[row][col] != null) {
-
-                        c = src[row][col];
-                    }
-
-                    matrix[row][col] = c;
-                }
+            // БД и рассылка — уже вне блокировки ячейки карты
+            if (ready[0] != null) {
+                gameStartService.startGame(ready[0]);
             }
-
-            // Конвертируем 10x10 в строку и сохраняем в сущности
-            board.setPlacementMatrixFromArray(matrix);
-
-            // Если позже добавишь в GameBoard поле owner — тогда тут можно будет сделать:
-            // board.setOwner(owner);
-
-            return board;
-        }
-
-
-
-        private void sendGameStartToPlayers(Game game, Long currentTurnPlayerId) {
-            Player p1 = game.getPlayer1();
-            Player p2 = game.getPlayer2();
-
-            GameStartNotification forP1 = new GameStartNotification();
-            forP1.setGameId(game.getGameId());
-            forP1.setOpponentId(p2.getPlayerId());
-            forP1.setOpponentNickname(p2.getNickname());
-            forP1.setOpponentAvatarUrl(p2.getAvatarUrl());
-            forP1.setCurrentTurnPlayerId(currentTurnPlayerId);
-
-            GameStartNotification forP2 = new GameStartNotification();
-            forP2.setGameId(game.getGameId());
-            forP2.setOpponentId(p1.getPlayerId());
-            forP2.setOpponentNickname(p1.getNickname());
-            forP2.setOpponentAvatarUrl(p1.getAvatarUrl());
-            forP2.setCurrentTurnPlayerId(currentTurnPlayerId);
-
-            System.out.println("Отправка уведомления о старте игры игрокам " + p1.getPlayerId() + " и " + p2.getPlayerId());
-            messagingTemplate.convertAndSend(
-                    "/queue/game.start/" + p1.getPlayerId(),
-                    forP1
-            );
-
-            messagingTemplate.convertAndSend(
-                    "/queue/game.start/" + p2.getPlayerId(),
-                    forP2
-            );
         }
 
 
@@ -291,13 +223,16 @@
          */
 
         @MessageMapping("/game.move")
-        public void handleMove(GameMoveDTO move) {
-            System.out.println("Получен ход от игрока " + move.getPlayerId() +
-                    " в игре " + move.getGameId() +
-                    " по координатам [" + move.getRow() + "," + move.getColumn() + "]");
+        public void handleMove(GameMoveDTO move, Principal principal) {
+            move.setPlayerId(currentPlayerId(principal));
+            // Ходов много, поэтому в журнал попадает только выборка
+            if (log.isDebugEnabled() && ThreadLocalRandom.current().nextInt(moveLogSampleRate) == 0) {
+                log.debug("Ход игрока {} в игре {}: [{},{}]",
+                        move.getPlayerId(), move.getGameId(), move.getRow(), move.getColumn());
+            }
 
             try {
-                // ИСПРАВЛЕНИЕ: передаем все параметры отдельно
+                // Состояние обоим игрокам уже отправил processMove
                 Map<String, Object> result = gameLogicService.processMove(
                         move.getGameId(),
                         move.getPlayerId(),
@@ -305,15 +240,15 @@
                         move.getColumn()
                 );
 
-                // Получаем игру
-                Game game = gameRepository.findById(move.getGameId())
-                        .orElseThrow(() -> new RuntimeException("Game not found"));
-
-                // Отправляем обновление обоим игрокам
-                sendGameUpdateToPlayers(game, result);
+                // Если этот ход завершил игру, отправляем уведомление о завершении
+                if (Boolean.TRUE.equals(result.get("gameOver"))) {
+                    GameRepository.MatchHeader game =
+                            (GameRepository.MatchHeader) result.get(GameLogicService.MATCH_HEADER);
+                    playerMessagingService.sendGameEnd(game, (String) result.get("gameResult"), null);
+                }
 
             } catch (Exception e) {
-                System.err.println("Ошибка при обработке хода: " + e.getMessage());
+                log.debug("Ход отклонён: {}", e.getMessage());
 
                 // ИСПРАВЛЕНИЕ: создаем простой Map вместо ErrorDTO
                 Map<String, Object> error = new HashMap<>();
@@ -321,8 +256,9 @@
                 error.put("message", e.getMessage());
                 error.put("gameId", move.getGameId());
 
-                messagingTemplate.convertAndSend(
-                        "/queue/game.error/" + move.getPlayerId(),
+                playerMessagingService.sendToPlayer(
+                        move.getPlayerId(),
+                        PlayerMessagingService.GAME_ERROR,
                         error
                 );
             }
@@ -330,15 +266,17 @@
 
 
         @MessageMapping("/game.state")
-        public void handleGetGameState(GetGameStateRequest request) {
+        public void handleGetGameState(GetGameStateRequest request, Principal principal) {
+            request.setPlayerId(currentPlayerId(principal));
             try {
                 Map<String, Object> gameState = gameLogicService.getGameStateForPlayer(
                         request.getGameId(),
                         request.getPlayerId()
                 );
 
-                messagingTemplate.convertAndSend(
-                        "/queue/game.state/" + request.getPlayerId(),
+                playerMessagingService.sendToPlayer(
+                        request.getPlayerId(),
+                        PlayerMessagingService.GAME_STATE,
                         gameState
                 );
 
@@ -347,75 +285,6 @@
             }
         }
 
-        /**
-         * Отправка обновления состояния игры обоим игрокам
-         */
-        private void sendGameUpdateToPlayers(Game game, Map<String, Object> moveResult) {
-            Long player1Id = game.getPlayer1().getPlayerId();
-            Long player2Id = game.getPlayer2().getPlayerId();
-
-            // Отправляем обновление состояния каждому игроку
-            sendGameStateToPlayer(game.getGameId(), player1Id);
-            sendGameStateToPlayer(game.getGameId(), player2Id);
-
-            // Если игра завершена, отправляем уведомление о завершении
-            if (game.getGameStatus() == GameStatus.COMPLETED) {
-                sendGameEndNotification(game);
-            }
-        }
-
-        /**
-         * Отправка состояния игры конкретному игроку
-         */
-        private void sendGameStateToPlayer(Long gameId, Long playerId) {
-            try {
-                Map<String, Object> gameState = gameLogicService.getGameStateForPlayer(gameId, playerId);
-                messagingTemplate.convertAndSend(
-                        "/queue/game.state/" + playerId,
-                        gameState
-                );
-            } catch (Exception e) {
-                System.err.println("Ошибка при отправке состояния игроку " + playerId + ": " + e.getMessage());
-            }
-        }
-
-        /**
-         * Отправка уведомления об окончании игры
-         */
-        private void sendGameEndNotification(Game game) {
-            Map<String, Object> endNotification = new HashMap<>();
-            endNotification.put("gameId", game.getGameId());
-            endNotification.put("result", game.getResult()); // Здесь лежит либо ID, либо "DRAW"
-            endNotification.put("action", "GAME_ENDED");
-
-            // Новая логика определения победителя на основе ID
-            if ("DRAW".equals(game.getResult())) {
-                endNotification.put("draw", true);
-                endNotification.put("winnerId", null);
-            } else {
-                endNotification.put("draw", false);
-                try {
-                    // Если в result лежит ID, парсим его и отправляем как winnerId
-                    Long winnerId = Long.parseLong(game.getResult());
-                    endNotification.put("winnerId", winnerId);
-                } catch (NumberFormatException e) {
-                    // На всякий случай, если там оказался старый текст или null
-                    endNotification.put("winnerId", null);
-                }
-            }
-
-            // Отправляем обоим игрокам
-            messagingTemplate.convertAndSend(
-                    "/queue/game.end/" + game.getPlayer1().getPlayerId(),
-                    endNotification
-            );
-
-            messagingTemplate.convertAndSend(
-                    "/queue/game.end/" + game.getPlayer2().getPlayerId(),
-                    endNotification
-            );
-        }
-
         /**
          * Отправка ошибки игроку
          */
@@ -424,16 +293,25 @@
             error.put("error", true);
             error.put("message", errorMessage);
 
-            messagingTemplate.convertAndSend(
-                    "/queue/game.error/" + playerId,
+            playerMessagingService.sendToPlayer(
+                    playerId,
+                    PlayerMessagingService.GAME_ERROR,
                     error
             );
         }
         @MessageMapping("/game.action")
-        public void handleGameAction(GameActionDTO action) {
+        public void handleGameAction(GameActionDTO action, Principal principal) {
+            action.setPlayerId(currentPlayerId(principal));
             try {
-                Game game = gameRepository.findById(action.getGameId())
+                GameRepository.MatchHeader game = gameRepository.findHeaderById(action.getGameId())
                         .orElseThrow(() -> new RuntimeException("Game not found"));
+                // Сдаться или согласиться на ничью можно только в своей активной партии
+                if (!game.isParticipant(action.getPlayerId())) {
+                    throw new RuntimeException("Игрок не участвует в этой игре");
+                }
+                if (game.getGameStatus() != GameStatus.ACTIVE) {
+                    throw new RuntimeException("Игра не активна");
+                }
 
                 switch (action.getActionType()) {
                     case "SURRENDER":
@@ -454,63 +332,60 @@
             }
         }
 
-        private void handleSurrender(Game game, Long surrenderingPlayerId) {
-            Long winnerId = getOpponentId(game, surrenderingPlayerId);
+        private void handleSurrender(GameRepository.MatchHeader game, Long surrenderingPlayerId) {
+            Long winnerId = game.getOpponentId(surrenderingPlayerId);
 
-            game.setGameStatus(GameStatus.COMPLETED);
-            game.setEndDate(LocalDateTime.now());
-            game.setResult(winnerId.toString()); // Записываем ID того, кто НЕ сдался
-
-            gameRepository.save(game);
-            inMemoryGameStateService.removeGameState(game.getGameId());
-            sendGameEndNotification(game);
+            // Записываем ID того, кто НЕ сдался
+            if (gameCompletionService.completeGame(game, winnerId.toString())) {
+                playerMessagingService.sendGameEnd(game, winnerId.toString(), null);
+            }
         }
 
-        private void handleDrawOffer(Game game, Long playerId) {
+        private void handleDrawOffer(GameRepository.MatchHeader game, Long playerId) {
+            if (!gameStateService.offerDraw(game.getGameId(), playerId)) {
+                throw new RuntimeException("Игра не активна");
+            }
+
             Map<String, Object> drawOffer = new HashMap<>();
             drawOffer.put("gameId", game.getGameId());
             drawOffer.put("fromPlayerId", playerId);
             drawOffer.put("action", "DRAW_OFFER");
 
-            Long opponentId = getOpponentId(game, playerId);
-            messagingTemplate.convertAndSend(
-                    "/queue/game.draw/" + opponentId,
+            Long opponentId = game.getOpponentId(playerId);
+            playerMessagingService.sendToPlayer(
+                    opponentId,
+                    PlayerMessagingService.GAME_DRAW,
                     drawOffer
             );
         }
 
-        private void handleDrawAccept(Game game, Long playerId) {
-            game.setGameStatus(GameStatus.COMPLETED);
-            game.setEndDate(LocalDateTime.now());
-            game.setResult("DRAW");
-
-            gameRepository.save(game);
-
-            // Удаляем состояние из памяти
-            inMemoryGameStateService.removeGameState(game.getGameId());
-
-            sendGameEndNotification(game);
+        private void handleDrawAccept(GameRepository.MatchHeader game, Long playerId) {
+            // Принять можно только предложение соперника, и только один раз
+            if (!gameStateService.takeDrawOffer(game.getGameId(), playerId)) {
+                throw new RuntimeException("Нет предложения ничьей");
+            }
+            if (gameCompletionService.completeGame(game, "DRAW")) {
+                playerMessagingService.sendGameEnd(game, "DRAW", null);
+            }
         }
 
-        private void handleDrawDecline(Game game, Long playerId) {
+        private void handleDrawDecline(GameRepository.MatchHeader game, Long playerId) {
+            if (!gameStateService.takeDrawOffer(game.getGameId(), playerId)) {
+                throw new RuntimeException("Нет предложения ничьей");
+            }
+
             Map<String, Object> drawDecline = new HashMap<>();
             drawDecline.put("gameId", game.getGameId());
             drawDecline.put("fromPlayerId", playerId);
             drawDecline.put("action", "DRAW_DECLINED");
 
-            Long opponentId = getOpponentId(game, playerId);
-            messagingTemplate.convertAndSend(
-                    "/queue/game.draw/" + opponentId,
+            Long opponentId = game.getOpponentId(playerId);
+            playerMessagingService.sendToPlayer(
+                    opponentId,
+                    PlayerMessagingService.GAME_DRAW,
                     drawDecline
             );
         }
 
-        private Long getOpponentId(Game game, Long playerId) {
-            if (game.getPlayer1().getPlayerId().equals(playerId)) {
-                return game.getPlayer2().getPlayerId();
-            } else {
-                return game.getPlayer1().getPlayerId();
-            }
-        }
 
     }
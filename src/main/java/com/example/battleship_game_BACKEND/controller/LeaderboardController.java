@@ -0,0 +1,49 @@
+package com.example.battleship_game_BACKEND.controller;
+
+import com.example.battleship_game_BACKEND.dto.LeaderboardEntryDTO;
+import com.example.battleship_game_BACKEND.dto.LeaderboardPageDTO;
+import com.example.battleship_game_BACKEND.security.PlayerPrincipal;
+import com.example.battleship_game_BACKEND.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    /** Страница таблицы лидеров */
+    @GetMapping
+    public ResponseEntity<LeaderboardPageDTO> getLeaderboard(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(leaderboardService.getPage(page, size));
+    }
+
+    /** Место текущего игрока */
+    @GetMapping("/me")
+    public ResponseEntity<LeaderboardEntryDTO> getMyRank(@AuthenticationPrincipal PlayerPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return rankResponse(principal.getPlayerId());
+    }
+
+    /** Место произвольного игрока */
+    @GetMapping("/players/{playerId}")
+    public ResponseEntity<LeaderboardEntryDTO> getPlayerRank(@PathVariable Long playerId) {
+        return rankResponse(playerId);
+    }
+
+    private ResponseEntity<LeaderboardEntryDTO> rankResponse(Long playerId) {
+        LeaderboardEntryDTO entry = leaderboardService.getPlayerRank(playerId);
+        if (entry == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(entry);
+    }
+}
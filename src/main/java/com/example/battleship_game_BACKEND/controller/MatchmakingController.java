@@ -0,0 +1,37 @@
+package com.example.battleship_game_BACKEND.controller;
+
+import com.example.battleship_game_BACKEND.security.PlayerPrincipal;
+import com.example.battleship_game_BACKEND.service.MatchmakingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+
+/**
+ * Очередь автоматического подбора соперника.
+ * Статус очереди приходит в /user/queue/matchmaking, найденный соперник — в /user/queue/game.start.
+ */
+@Controller
+@RequiredArgsConstructor
+public class MatchmakingController {
+
+    private final MatchmakingService matchmakingService;
+
+    @MessageMapping("/matchmaking.join")
+    public void join(Principal principal) {
+        matchmakingService.join(currentPlayerId(principal));
+    }
+
+    @MessageMapping("/matchmaking.leave")
+    public void leave(Principal principal) {
+        matchmakingService.leave(currentPlayerId(principal));
+    }
+
+    private Long currentPlayerId(Principal principal) {
+        if (principal instanceof PlayerPrincipal playerPrincipal) {
+            return playerPrincipal.getPlayerId();
+        }
+        throw new IllegalStateException("STOMP session is not authenticated");
+    }
+}
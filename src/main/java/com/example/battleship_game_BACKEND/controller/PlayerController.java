@@ -1,25 +1,33 @@
 package com.example.battleship_game_BACKEND.controller;
 
 import com.example.battleship_game_BACKEND.dto.AvatarUpdateRequest;
+import com.example.battleship_game_BACKEND.dto.MatchHistoryPageDTO;
 import com.example.battleship_game_BACKEND.dto.PlayerMultiplayerDTO;
 import com.example.battleship_game_BACKEND.dto.PlayerProfileDTO;
 import com.example.battleship_game_BACKEND.model.Player;
+import com.example.battleship_game_BACKEND.model.PlayerSnapshot;
+import com.example.battleship_game_BACKEND.security.PlayerPrincipal;
+import com.example.battleship_game_BACKEND.service.MatchHistoryService;
 import com.example.battleship_game_BACKEND.service.PlayerService;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import java.util.Arrays;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/players")
 @RequiredArgsConstructor
+@Slf4j
 public class PlayerController {
 
     private final PlayerService playerService;
+    private final MatchHistoryService matchHistoryService;
 
 
     /** Обновление аватара у пользователя */
@@ -27,13 +35,13 @@ public class PlayerController {
     @SneakyThrows
     public ResponseEntity<?> updateAvatar(
             @RequestBody AvatarUpdateRequest request,
-            @AuthenticationPrincipal Player player) {
+            @AuthenticationPrincipal PlayerPrincipal principal) {
         try {
-            System.out.println("Updating avatar for player: " + player.getNickname() + " to: " + request.getAvatarFileName());
-            Player updatedPlayer = playerService.updateAvatar(player.getPlayerId(), request.getAvatarFileName());
+            log.debug("Updating avatar for player {} to {}", principal.getPlayerId(), request.getAvatarFileName());
+            Player updatedPlayer = playerService.updateAvatar(principal.getPlayerId(), request.getAvatarFileName());
             return ResponseEntity.ok(updatedPlayer);
         } catch (RuntimeException e) {
-            System.out.println("Error updating avatar: " + e.getMessage());
+            log.warn("Error updating avatar: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Error updating avatar: " + e.getMessage());
         }
     }
@@ -41,16 +49,15 @@ public class PlayerController {
     /** Получение всех аватарок пользователей */
     @GetMapping("/avatars")
     public ResponseEntity<String[]> getAvailableAvatars() {
-        System.out.println("Fetching available avatars");
         String[] avatars = playerService.getAvailableAvatars();
-        System.out.println("Returning avatars: " + Arrays.toString(avatars));
         return ResponseEntity.ok(avatars);
     }
 
     /** Просмотр профиля пользователя */
     @GetMapping("/current")
-    public ResponseEntity<PlayerProfileDTO> getCurrentPlayer(@AuthenticationPrincipal Player player) {
+    public ResponseEntity<PlayerProfileDTO> getCurrentPlayer(@AuthenticationPrincipal PlayerPrincipal principal) {
         try {
+            PlayerSnapshot player = playerService.getPlayerById(principal.getPlayerId());
             // Просто вызываем сервис, который теперь умеет считать статистику
             PlayerProfileDTO profile = playerService.getPlayerProfileWithStats(player);
             return ResponseEntity.ok(profile);
@@ -63,18 +70,25 @@ public class PlayerController {
     @GetMapping("/all")
     public ResponseEntity<List<PlayerMultiplayerDTO>> getAllPlayers() {
         try {
-            System.out.println("Fetching all players");
-            List<Player> players = playerService.getOnlinePlayers();
-            List<PlayerMultiplayerDTO> playerSummaries = players.stream()
-                    .map(player -> new PlayerMultiplayerDTO( player.getPlayerId(), player.getNickname(), player.getAvatarUrl()))
-                    .toList();
-
-            System.out.println("Returning " + playerSummaries.size() + " player summaries");
+            List<PlayerMultiplayerDTO> playerSummaries = playerService.getOnlinePlayers();
             return ResponseEntity.ok(playerSummaries);
 
         } catch (Exception e) {
-            System.out.println("Error fetching players: " + e.getMessage());
+            log.error("Error fetching players", e);
             return ResponseEntity.status(500).body(Collections.emptyList());
         }
     }
-}
\ No newline at end of file
+
+    /** История партий игрока; следующая страница — по курсору из предыдущего ответа */
+    @GetMapping("/{playerId}/games")
+    public ResponseEntity<MatchHistoryPageDTO> getMatchHistory(
+            @PathVariable Long playerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeEndDate,
+            @RequestParam(required = false) Long beforeGameId,
+            @RequestParam(defaultValue = "20") int size) {
+        if ((beforeEndDate == null) != (beforeGameId == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(matchHistoryService.getHistory(playerId, beforeEndDate, beforeGameId, size));
+    }
+}
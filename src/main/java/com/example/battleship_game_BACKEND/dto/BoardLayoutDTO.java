@@ -10,11 +10,3 @@ public class BoardLayoutDTO {
     private List<ShipDTO> ships;
     private Character[][] matrix;
 }
-
-@Data
-class ShipDTO {
-    private int size;
-    private int x;
-    private int y;
-    private boolean horizontal;
-}
\ No newline at end of file
@@ -10,5 +10,6 @@ public class GameInvitationResponse {
     private Long inviterId;
     private String inviterNickname;
     private String inviterAvatarUrl;
+    private Integer inviterRating;
     private LocalDateTime timestamp;
 }
@@ -8,5 +8,6 @@ public class GameStartNotification {
     private Long opponentId;
     private String opponentNickname;
     private String opponentAvatarUrl;
+    private Integer opponentRating;
     private Long currentTurnPlayerId;
 }
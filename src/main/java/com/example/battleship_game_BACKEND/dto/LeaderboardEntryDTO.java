@@ -0,0 +1,16 @@
+package com.example.battleship_game_BACKEND.dto;
+
+import lombok.Data;
+
+@Data
+public class LeaderboardEntryDTO {
+    private long rank;
+    private Long playerId;
+    private String nickname;
+    private int rating;
+    private int wins;
+    private int losses;
+    private int draws;
+    private int gamesPlayed;
+    private double winRate; // 0..1
+}
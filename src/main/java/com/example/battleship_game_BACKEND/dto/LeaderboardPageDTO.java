@@ -0,0 +1,15 @@
+package com.example.battleship_game_BACKEND.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class LeaderboardPageDTO {
+    private int page;
+    private int size;
+    private long totalPlayers;
+    private List<LeaderboardEntryDTO> entries;
+}
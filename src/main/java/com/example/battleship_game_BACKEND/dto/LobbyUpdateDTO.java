@@ -0,0 +1,16 @@
+package com.example.battleship_game_BACKEND.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class LobbyUpdateDTO {
+    private String type;      // "SNAPSHOT" или "DIFF"
+    private long version;     // DIFF с version <= версии снимка клиент игнорирует
+    private List<PlayerMultiplayerDTO> players = new ArrayList<>(); // только в SNAPSHOT
+    private List<PlayerMultiplayerDTO> joined = new ArrayList<>();
+    private List<PlayerMultiplayerDTO> updated = new ArrayList<>();
+    private List<Long> left = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.example.battleship_game_BACKEND.dto;
+
+import com.example.battleship_game_BACKEND.model.GameType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class MatchHistoryEntryDTO {
+    private Long gameId;
+    private Long opponentId;
+    private String opponentNickname;
+    private String outcome; // WIN, LOSS, DRAW, CANCELLED
+    private GameType gameType;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+}
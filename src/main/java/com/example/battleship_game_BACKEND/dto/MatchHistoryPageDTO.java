@@ -0,0 +1,22 @@
+package com.example.battleship_game_BACKEND.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Страница истории партий. Следующая страница запрашивается с
+ * beforeEndDate=nextBeforeEndDate и beforeGameId=nextBeforeGameId; при hasMore=false их нет.
+ */
+@Data
+@AllArgsConstructor
+public class MatchHistoryPageDTO {
+    private Long playerId;
+    private int size;
+    private boolean hasMore;
+    private LocalDateTime nextBeforeEndDate;
+    private Long nextBeforeGameId;
+    private List<MatchHistoryEntryDTO> entries;
+}
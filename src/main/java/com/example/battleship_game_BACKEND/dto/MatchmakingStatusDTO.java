@@ -0,0 +1,14 @@
+package com.example.battleship_game_BACKEND.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchmakingStatusDTO {
+    private String status;      // QUEUED, ALREADY_QUEUED, CANCELLED, MATCHED
+    private int rating;
+    private int waitingPlayers;
+}
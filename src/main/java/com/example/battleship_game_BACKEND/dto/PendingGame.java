@@ -12,4 +12,7 @@ public class PendingGame {
     private BoardLayoutDTO board2;
 
     private GameType gameType;
+
+    /** Когда ожидание второго игрока истекает; 0 — ещё не зарегистрирована */
+    private long expiresAtMillis;
 }
\ No newline at end of file
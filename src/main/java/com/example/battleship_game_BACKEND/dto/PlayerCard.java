@@ -0,0 +1,7 @@
+package com.example.battleship_game_BACKEND.dto;
+
+/**
+ * Данные игрока для уведомлений: приглашения, старт игры, матчмейкинг
+ */
+public record PlayerCard(Long playerId, String nickname, String avatarUrl, int rating) {
+}
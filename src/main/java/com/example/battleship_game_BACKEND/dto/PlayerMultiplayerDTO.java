@@ -7,9 +7,15 @@ public class PlayerMultiplayerDTO {
     private Long playerId;
     private String nickname;
     private String avatarUrl;
+    private Integer rating;
     public PlayerMultiplayerDTO(Long playerId, String nickname, String avatarUrl) {
         this.playerId = playerId;
         this.nickname = nickname;
         this.avatarUrl = avatarUrl;
     }
+
+    public PlayerMultiplayerDTO(Long playerId, String nickname, String avatarUrl, Integer rating) {
+        this(playerId, nickname, avatarUrl);
+        this.rating = rating;
+    }
 }
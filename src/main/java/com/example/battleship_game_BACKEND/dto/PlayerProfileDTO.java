@@ -7,8 +7,14 @@ public class PlayerProfileDTO {
     private Long playerId;
     private String nickname;
     private String avatarUrl;
+    private int rating;
     private int totalGames;
     private int wins;
     private int losses;
+    private int draws;
+    private long shotsFired;
+    private long hits;
+    private int currentWinStreak;
+    private int bestWinStreak;
     private int savedLayouts;
 }
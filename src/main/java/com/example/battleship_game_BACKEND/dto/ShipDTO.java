@@ -0,0 +1,11 @@
+package com.example.battleship_game_BACKEND.dto;
+
+import lombok.Data;
+
+@Data
+public class ShipDTO {
+    private int size;
+    private int x; // столбец 0-9
+    private int y; // строка 0-9
+    private boolean horizontal;
+}
@@ -0,0 +1,86 @@
+package com.example.battleship_game_BACKEND.leaderboard;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Упорядоченный индекс игроков для таблицы лидеров.
+ *
+ * Игроки лежат в дереве порядковых статистик (OrderStatisticTree) в порядке
+ * отображаемый рейтинг ↓, победы ↓, id ↑. Место игрока — число записей перед ним, страница
+ * с произвольным смещением — спуск к offset-й записи; обе операции O(log n)
+ * независимо от того, сколько игроков делят один рейтинг.
+ */
+public class LeaderboardIndex {
+
+    private static final Comparator<RankedPlayer> ORDER = Comparator
+            .comparingInt(RankedPlayer::displayRating).reversed()
+            .thenComparing(Comparator.comparingInt(RankedPlayer::wins).reversed())
+            .thenComparing(RankedPlayer::playerId);
+
+    private final Map<Long, RankedPlayer> byPlayer = new HashMap<>();
+    private final OrderStatisticTree<RankedPlayer> ordered = new OrderStatisticTree<>(ORDER);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void upsert(RankedPlayer player) {
+        lock.writeLock().lock();
+        try {
+            RankedPlayer previous = byPlayer.put(player.playerId(), player);
+            if (previous != null) {
+                ordered.remove(previous);
+            }
+            ordered.add(player);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public RankedPlayer get(Long playerId) {
+        lock.readLock().lock();
+        try {
+            return byPlayer.get(playerId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byPlayer.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Место игрока (с 1) или -1, если игрок ещё не сыграл ни одной партии
+     */
+    public long rankOf(Long playerId) {
+        lock.readLock().lock();
+        try {
+            RankedPlayer player = byPlayer.get(playerId);
+            if (player == null) {
+                return -1;
+            }
+            return ordered.countLess(player) + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Страница таблицы: игроки с местами offset+1 .. offset+limit
+     */
+    public List<RankedPlayer> page(long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return ordered.range(offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.battleship_game_BACKEND.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Декартово дерево (treap) с размерами поддеревьев.
+ *
+ * Кроме вставки и удаления за O(log n) умеет считать число элементов меньше заданного
+ * и выдавать элементы с k-го по порядку — тоже за O(log n) плюс длина выдачи.
+ * Элементы должны быть различны с точки зрения компаратора. Не потокобезопасно:
+ * синхронизацию обеспечивает LeaderboardIndex.
+ */
+final class OrderStatisticTree<T> {
+
+    private static final class Node<T> {
+        private final T value;
+        private final int priority;
+        private int size = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private final Comparator<? super T> comparator;
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<T> root;
+
+    OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    void add(T value) {
+        Node<T>[] parts = split(root, value);
+        root = merge(merge(parts[0], new Node<>(value, random.nextInt())), parts[1]);
+    }
+
+    void remove(T value) {
+        root = remove(root, value);
+    }
+
+    /** Число элементов строго меньше value */
+    long countLess(T value) {
+        long count = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (comparator.compare(node.value, value) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /** Элементы с номерами offset .. offset+limit-1 (с нуля) по возрастанию */
+    List<T> range(long offset, int limit) {
+        List<T> result = new ArrayList<>(Math.max(0, limit));
+        if (offset >= 0 && limit > 0) {
+            collect(root, offset, limit, result);
+        }
+        return result;
+    }
+
+    private void collect(Node<T> node, long skip, int limit, List<T> out) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        long leftSize = size(node.left);
+        if (skip < leftSize) {
+            collect(node.left, skip, limit, out);
+        }
+        if (skip <= leftSize && out.size() < limit) {
+            out.add(node.value);
+        }
+        collect(node.right, Math.max(0, skip - leftSize - 1), limit, out);
+    }
+
+    /** {элементы меньше key, элементы не меньше key} */
+    @SuppressWarnings("unchecked")
+    private Node<T>[] split(Node<T> node, T key) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (comparator.compare(node.value, key) < 0) {
+            Node<T>[] parts = split(node.right, key);
+            node.right = parts[0];
+            update(node);
+            return new Node[]{node, parts[1]};
+        }
+        Node<T>[] parts = split(node.left, key);
+        node.left = parts[1];
+        update(node);
+        return new Node[]{parts[0], node};
+    }
+
+    /** Все элементы left меньше всех элементов right */
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<T> remove(Node<T> node, T value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(value, node.value);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, value);
+        } else {
+            node.right = remove(node.right, value);
+        }
+        update(node);
+        return node;
+    }
+
+    private static int size(Node<?> node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static void update(Node<?> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.battleship_game_BACKEND.leaderboard;
+
+/**
+ * Неизменяемая запись таблицы лидеров; при каждом изменении заменяется целиком
+ */
+public record RankedPlayer(Long playerId, String nickname, double rating, int wins, int losses, int draws) {
+
+    /** Рейтинг в том виде, в каком его показывает RatingService.getDisplayRating */
+    public int displayRating() {
+        return (int) Math.round(rating);
+    }
+
+    public int gamesPlayed() {
+        return wins + losses + draws;
+    }
+
+    public double winRate() {
+        int games = gamesPlayed();
+        return games == 0 ? 0.0 : (double) wins / games;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.battleship_game_BACKEND.matchmaking;
+
+import com.example.battleship_game_BACKEND.rating.EloCalculator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Очередь поиска соперника, разбитая на полосы рейтинга.
+ *
+ * Каждая полоса — неблокирующая ConcurrentLinkedQueue, поэтому постановка в очередь
+ * и отмена из потоков STOMP стоят O(1) и не конкурируют за общую блокировку.
+ * Пары собирает задача подборщика (matchRound), запуски которой не пересекаются:
+ * сначала внутри полосы в порядке FIFO, затем оставшиеся одиночки соседних полос,
+ * если разница полос укладывается в допуск, который растёт со временем ожидания.
+ */
+public class MatchQueue {
+
+    private final int bandWidth;
+    private final ConcurrentLinkedQueue<MatchTicket>[] bands;
+    private final ConcurrentHashMap<Long, MatchTicket> byPlayer = new ConcurrentHashMap<>();
+
+    /** Самая старая заявка полосы, оставшаяся без пары; доступна только задаче подборщика */
+    private final MatchTicket[] carry;
+
+    @SuppressWarnings("unchecked")
+    public MatchQueue(int bandWidth) {
+        this.bandWidth = Math.max(1, bandWidth);
+        int bandCount = EloCalculator.MAX_RATING / this.bandWidth + 1;
+        this.bands = new ConcurrentLinkedQueue[bandCount];
+        for (int i = 0; i < bandCount; i++) {
+            bands[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.carry = new MatchTicket[bandCount];
+    }
+
+    /**
+     * @return false, если игрок уже ждёт соперника
+     */
+    public boolean enqueue(MatchTicket ticket) {
+        boolean[] added = new boolean[1];
+        byPlayer.compute(ticket.getPlayerId(), (id, existing) -> {
+            if (existing != null && existing.isWaiting()) {
+                return existing;
+            }
+            added[0] = true;
+            return ticket;
+        });
+        if (added[0]) {
+            bands[band(ticket.getRating())].offer(ticket);
+        }
+        return added[0];
+    }
+
+    /**
+     * @return false, если игрока нет в очереди или соперник ему уже подобран
+     */
+    public boolean cancel(Long playerId) {
+        MatchTicket ticket = byPlayer.get(playerId);
+        if (ticket == null || !ticket.cancel()) {
+            return false;
+        }
+        byPlayer.remove(playerId, ticket);
+        return true;
+    }
+
+    public boolean contains(Long playerId) {
+        MatchTicket ticket = byPlayer.get(playerId);
+        return ticket != null && ticket.isWaiting();
+    }
+
+    public int size() {
+        return byPlayer.size();
+    }
+
+    /**
+     * Один проход подборщика. Проходы не должны выполняться параллельно.
+     *
+     * @param widenEveryMs через сколько миллисекунд ожидания допуск расширяется на одну полосу
+     * @param maxSpread    максимальная разница полос для пары
+     */
+    public List<MatchTicket[]> matchRound(long nowMillis, long widenEveryMs, int maxSpread) {
+        List<MatchTicket[]> pairs = new ArrayList<>();
+
+        // 1. Пары внутри полосы
+        for (int b = 0; b < bands.length; b++) {
+            MatchTicket head = carry[b] != null && carry[b].isWaiting() ? carry[b] : null;
+            carry[b] = null;
+            while (true) {
+                if (head == null) {
+                    head = pollWaiting(b);
+                    if (head == null) {
+                        break;
+                    }
+                }
+                MatchTicket other = pollWaiting(b);
+                if (other == null) {
+                    carry[b] = head;
+                    break;
+                }
+                if (claim(head, other)) {
+                    pairs.add(new MatchTicket[]{head, other});
+                    head = null;
+                } else {
+                    head = head.isWaiting() ? head : (other.isWaiting() ? other : null);
+                }
+            }
+        }
+
+        // 2. Одиночки соседних полос с учётом времени ожидания
+        int previous = -1;
+        for (int b = 0; b < bands.length; b++) {
+            MatchTicket current = carry[b];
+            if (current == null || !current.isWaiting()) {
+                carry[b] = null;
+                continue;
+            }
+            if (previous >= 0) {
+                MatchTicket waiting = carry[previous];
+                long oldest = Math.min(waiting.getEnqueuedAtMillis(), current.getEnqueuedAtMillis());
+                int allowed = (int) Math.min(maxSpread, (nowMillis - oldest) / Math.max(1, widenEveryMs));
+                if (b - previous <= allowed && claim(waiting, current)) {
+                    pairs.add(new MatchTicket[]{waiting, current});
+                    carry[previous] = null;
+                    carry[b] = null;
+                    previous = -1;
+                    continue;
+                }
+                if (!waiting.isWaiting()) {
+                    carry[previous] = null;
+                }
+            }
+            previous = b;
+        }
+
+        return pairs;
+    }
+
+    private MatchTicket pollWaiting(int b) {
+        MatchTicket ticket;
+        while ((ticket = bands[b].poll()) != null) {
+            if (ticket.isWaiting()) {
+                return ticket;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Атомарно забирает обе заявки; если вторую успели отменить, первая возвращается в ожидание
+     */
+    private boolean claim(MatchTicket first, MatchTicket second) {
+        if (!first.reserve()) {
+            return false;
+        }
+        if (!second.match()) {
+            first.unreserve();
+            return false;
+        }
+        first.confirmReserved();
+        byPlayer.remove(first.getPlayerId(), first);
+        byPlayer.remove(second.getPlayerId(), second);
+        return true;
+    }
+
+    private int band(int rating) {
+        return Math.max(0, Math.min(bands.length - 1, rating / bandWidth));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.battleship_game_BACKEND.matchmaking;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Заявка игрока в очереди поиска соперника.
+ *
+ * Отмена не удаляет заявку из очереди полосы (это был бы O(n) проход),
+ * а только переводит её в CANCELLED: подборщик пропускает такие заявки при извлечении.
+ * Переходы состояния выполняются CAS, поэтому отмена и подбор пары не требуют блокировок.
+ */
+public final class MatchTicket {
+
+    private static final int WAITING = 0;
+    /** Подборщик захватил первую заявку пары и пробует захватить вторую */
+    private static final int RESERVED = 1;
+    private static final int MATCHED = 2;
+    private static final int CANCELLED = 3;
+
+    private final Long playerId;
+    private final String nickname;
+    private final String avatarUrl;
+    private final int rating;
+    private final long enqueuedAtMillis;
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+
+    public MatchTicket(Long playerId, String nickname, String avatarUrl, int rating, long enqueuedAtMillis) {
+        this.playerId = playerId;
+        this.nickname = nickname;
+        this.avatarUrl = avatarUrl;
+        this.rating = rating;
+        this.enqueuedAtMillis = enqueuedAtMillis;
+    }
+
+    boolean isWaiting() {
+        return state.get() == WAITING;
+    }
+
+    boolean reserve() {
+        return state.compareAndSet(WAITING, RESERVED);
+    }
+
+    void unreserve() {
+        state.set(WAITING);
+    }
+
+    void confirmReserved() {
+        state.set(MATCHED);
+    }
+
+    boolean match() {
+        return state.compareAndSet(WAITING, MATCHED);
+    }
+
+    /**
+     * Отмена заявки; false, если игрок уже получил соперника.
+     * Состояние RESERVED длится несколько инструкций, поэтому его просто пережидаем.
+     */
+    boolean cancel() {
+        while (true) {
+            int current = state.get();
+            if (current == WAITING) {
+                if (state.compareAndSet(WAITING, CANCELLED)) {
+                    return true;
+                }
+            } else if (current == RESERVED) {
+                Thread.onSpinWait();
+            } else {
+                return false;
+            }
+        }
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public String getAvatarUrl() {
+        return avatarUrl;
+    }
+
+    public int getRating() {
+        return rating;
+    }
+
+    public long getEnqueuedAtMillis() {
+        return enqueuedAtMillis;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.battleship_game_BACKEND.metrics;
+
+import com.example.battleship_game_BACKEND.rating.RatingBatchWriter;
+import com.example.battleship_game_BACKEND.service.LiveGameGovernor;
+import com.example.battleship_game_BACKEND.service.LoginService;
+import com.example.battleship_game_BACKEND.service.MatchmakingService;
+import com.example.battleship_game_BACKEND.service.PendingGameRegistry;
+import com.example.battleship_game_BACKEND.service.PlayerCardService;
+import com.example.battleship_game_BACKEND.service.PresenceService;
+import com.example.battleship_game_BACKEND.service.TurnTimerService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Показатели состояния сервиса: живые игры и их память, ожидающие рукопожатия game.ready,
+ * очередь матчмейкинга, часы хода, пул проверки паролей, очередь записи рейтингов
+ * и очереди входящего/исходящего STOMP-каналов.
+ */
+@Component
+public class ApplicationMetrics implements MeterBinder {
+
+    private final LiveGameGovernor liveGameGovernor;
+    private final PendingGameRegistry pendingGameRegistry;
+    private final MatchmakingService matchmakingService;
+    private final TurnTimerService turnTimerService;
+    private final PresenceService presenceService;
+    private final PlayerCardService playerCardService;
+    private final LoginService loginService;
+    private final RatingBatchWriter ratingBatchWriter;
+
+    private final Executor clientInboundChannelExecutor;
+    private final Executor clientOutboundChannelExecutor;
+
+    public ApplicationMetrics(LiveGameGovernor liveGameGovernor,
+                              PendingGameRegistry pendingGameRegistry,
+                              MatchmakingService matchmakingService,
+                              TurnTimerService turnTimerService,
+                              PresenceService presenceService,
+                              PlayerCardService playerCardService,
+                              LoginService loginService,
+                              RatingBatchWriter ratingBatchWriter,
+                              @Qualifier("clientInboundChannelExecutor") Executor clientInboundChannelExecutor,
+                              @Qualifier("clientOutboundChannelExecutor") Executor clientOutboundChannelExecutor) {
+        this.liveGameGovernor = liveGameGovernor;
+        this.pendingGameRegistry = pendingGameRegistry;
+        this.matchmakingService = matchmakingService;
+        this.turnTimerService = turnTimerService;
+        this.presenceService = presenceService;
+        this.playerCardService = playerCardService;
+        this.loginService = loginService;
+        this.ratingBatchWriter = ratingBatchWriter;
+        this.clientInboundChannelExecutor = clientInboundChannelExecutor;
+        this.clientOutboundChannelExecutor = clientOutboundChannelExecutor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("games.live", liveGameGovernor, LiveGameGovernor::getLiveGameCount)
+                .description("Игры, состояние которых хранится в памяти")
+                .register(registry);
+        Gauge.builder("games.live.memory", liveGameGovernor, LiveGameGovernor::getEstimatedBytes)
+                .description("Оценка памяти живых игр")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("games.live.evicted", liveGameGovernor, LiveGameGovernor::getEvictedGames)
+                .description("Игры, вытесненные из памяти со статусом CANCELLED")
+                .register(registry);
+
+        Gauge.builder("games.pending.handshakes", pendingGameRegistry, PendingGameRegistry::size)
+                .description("Пары, ожидающие второго game.ready")
+                .register(registry);
+        Gauge.builder("matchmaking.waiting", matchmakingService, MatchmakingService::getWaitingCount)
+                .description("Игроки в очереди подбора соперника")
+                .register(registry);
+        Gauge.builder("games.turn.timers", turnTimerService, TurnTimerService::getArmedCount)
+                .description("Взведённые часы хода")
+                .register(registry);
+        Gauge.builder("players.online", presenceService, PresenceService::getOnlineCount)
+                .description("Игроки с открытой STOMP-сессией")
+                .register(registry);
+        Gauge.builder("players.cards.cached", playerCardService, PlayerCardService::size)
+                .description("Карточки игроков в кэше уведомлений")
+                .register(registry);
+
+        Gauge.builder("login.bcrypt.queue", loginService, LoginService::getQueueDepth)
+                .description("Попытки входа в очереди проверки пароля")
+                .register(registry);
+        Gauge.builder("login.bcrypt.active", loginService, LoginService::getActiveHashes)
+                .description("Пароли, проверяемые прямо сейчас")
+                .register(registry);
+        FunctionCounter.builder("login.throttled", loginService, LoginService::getThrottledLogins)
+                .register(registry);
+        FunctionCounter.builder("login.rejected", loginService, LoginService::getRejectedLogins)
+                .register(registry);
+
+        Gauge.builder("rating.writer.pending", ratingBatchWriter, RatingBatchWriter::getPendingCount)
+                .description("Рейтинги, ожидающие пакетной записи")
+                .register(registry);
+
+        bindChannel(registry, "inbound", clientInboundChannelExecutor);
+        bindChannel(registry, "outbound", clientOutboundChannelExecutor);
+    }
+
+    /**
+     * Очередь и занятые потоки есть только у пула; на виртуальных потоках
+     * очереди нет, а нагрузку канала видно по stomp.outbound.* и jvm.threads.*
+     */
+    private void bindChannel(MeterRegistry registry, String channel, Executor channelExecutor) {
+        if (!(channelExecutor instanceof ThreadPoolTaskExecutor executor)) {
+            return;
+        }
+        Gauge.builder("stomp.channel.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Сообщения в очереди STOMP-канала")
+                .tag("channel", channel)
+                .register(registry);
+        Gauge.builder("stomp.channel.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Занятые потоки STOMP-канала")
+                .tag("channel", channel)
+                .register(registry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.battleship_game_BACKEND.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Таймеры конвейера хода и «размышлений» ИИ.
+ *
+ * game.move.phase{phase=validate|resolve|state|push|complete} — где ход проводит время;
+ * push — единственная за ход рассылка game.state обоим игрокам (контроллер её не повторяет),
+ * game.move{outcome=hit|miss|rejected} — полное время обработки хода; count с outcome=rejected —
+ * число отклонённых ходов.
+ * Метры создаются один раз и кэшируются, чтобы на горячем пути не искать их в реестре.
+ */
+@Component
+public class GameMetrics {
+
+    public static final String PHASE_VALIDATE = "validate";
+    public static final String PHASE_RESOLVE = "resolve";
+    public static final String PHASE_STATE = "state";
+    public static final String PHASE_PUSH = "push";
+    public static final String PHASE_COMPLETE = "complete";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> phaseTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> moveTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> aiTimers = new ConcurrentHashMap<>();
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordPhase(String phase, long nanos) {
+        phaseTimers.computeIfAbsent(phase, p -> Timer.builder("game.move.phase")
+                .description("Время этапа обработки хода")
+                .tag("phase", p)
+                .publishPercentileHistogram()
+                .register(registry)
+        ).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMove(String outcome, long nanos) {
+        moveTimers.computeIfAbsent(outcome, o -> Timer.builder("game.move")
+                .description("Полное время обработки хода")
+                .tag("outcome", o)
+                .publishPercentileHistogram()
+                .register(registry)
+        ).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Время работы стратегии ИИ (генерация расстановки и т.п.)
+     */
+    public void recordAiThink(String strategy, long nanos) {
+        aiTimers.computeIfAbsent(strategy, s -> Timer.builder("ai.think")
+                .description("Время «размышления» стратегии ИИ")
+                .tag("strategy", s)
+                .register(registry)
+        ).record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.battleship_game_BACKEND.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Счётчики исходящего STOMP-трафика по назначению: stomp.outbound.messages и stomp.outbound.bytes.
+ *
+ * Для персональных сообщений берётся исходное назначение (/user/queue/game.state),
+ * а не служебное с id сессии, поэтому число тегов не растёт с числом игроков.
+ */
+@Component
+public class StompTrafficInterceptor implements ChannelInterceptor {
+
+    private static final String USER_SUFFIX = "-user";
+
+    private final MeterRegistry registry;
+    private final Map<String, Meters> byDestination = new ConcurrentHashMap<>();
+
+    private record Meters(Counter messages, DistributionSummary bytes) {
+    }
+
+    public StompTrafficInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        // Брокер кладёт в канал сообщения с типом MESSAGE; STOMP-команду им назначит
+        // только StompSubProtocolHandler при записи в сессию
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+
+        Object original = message.getHeaders().get(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION);
+        String destination = original instanceof String s ? s : SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null) {
+            return message;
+        }
+
+        Meters meters = byDestination.computeIfAbsent(normalize(destination), this::register);
+        meters.messages().increment();
+        if (message.getPayload() instanceof byte[] payload) {
+            meters.bytes().record(payload.length);
+        }
+        return message;
+    }
+
+    private Meters register(String destination) {
+        return new Meters(
+                Counter.builder("stomp.outbound.messages")
+                        .description("Исходящие STOMP-сообщения")
+                        .tag("destination", destination)
+                        .register(registry),
+                DistributionSummary.builder("stomp.outbound.bytes")
+                        .description("Размер исходящих STOMP-сообщений")
+                        .baseUnit("bytes")
+                        .tag("destination", destination)
+                        .register(registry));
+    }
+
+    /** /queue/game.state-user1a2b3c → /queue/game.state */
+    private static String normalize(String destination) {
+        int suffix = destination.indexOf(USER_SUFFIX);
+        return suffix > 0 ? destination.substring(0, suffix) : destination;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.battleship_game_BACKEND.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Диагностика закрепления (pinning) виртуальных потоков.
+ *
+ * Виртуальный поток, заблокировавшийся внутри synchronized или нативного вызова,
+ * держит поток-носитель, и при нескольких таких блокировках обработка STOMP
+ * и HTTP встаёт так же, как на маленьком пуле. Монитор слушает событие JFR
+ * jdk.VirtualThreadPinned дольше thresholdMs, пишет его длительность в таймер
+ * jvm.threads.virtual.pinned и логирует верхние кадры стека — не чаще раза в секунду.
+ */
+@Component
+@Slf4j
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "app.virtual-threads.pinning-diagnostics", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+    private static final long LOG_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final Timer pinned;
+    private final RecordingStream stream;
+    private final AtomicLong lastLoggedNanos = new AtomicLong(System.nanoTime() - LOG_INTERVAL_NANOS);
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry,
+                                       @Value("${app.virtual-threads.pinning-threshold-ms:20}") long thresholdMs) {
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Блокировки виртуальных потоков с удержанием потока-носителя")
+                .register(registry);
+
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+
+        long now = System.nanoTime();
+        long last = lastLoggedNanos.get();
+        if (now - last < LOG_INTERVAL_NANOS || !lastLoggedNanos.compareAndSet(last, now)) {
+            return;
+        }
+        log.warn("Виртуальный поток {} удерживал носитель {} мс:{}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(),
+                topFrames(event.getStackTrace()));
+    }
+
+    private static String topFrames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " стек недоступен";
+        }
+        StringBuilder sb = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            sb.append("\n\tat ")
+                    .append(frame.getMethod().getType().getName())
+                    .append('.')
+                    .append(frame.getMethod().getName())
+                    .append(':')
+                    .append(frame.getLineNumber());
+        }
+        return sb.toString();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stream.close();
+    }
+}
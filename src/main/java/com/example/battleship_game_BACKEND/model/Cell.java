@@ -8,7 +8,8 @@ import lombok.Data;
 @Data
 public class Cell {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cell_seq")
+    @SequenceGenerator(name = "cell_seq", sequenceName = "cell_seq", allocationSize = 50)
     @Column(name = "cell_id")
     private Long cellId;
 
@@ -2,31 +2,46 @@
 
     import jakarta.persistence.*;
     import lombok.Data;
+    import lombok.EqualsAndHashCode;
+    import lombok.ToString;
     import java.time.LocalDateTime;
 
+    /**
+     * Партия. Связи с игроками и досками ленивые: ход, история и пересчёты читают
+     * проекции из GameRepository, а доски нужны только при старте игры.
+     */
     @Entity
     @Table(name = "game")
     @Data
     public class Game {
         @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_seq")
+        @SequenceGenerator(name = "game_seq", sequenceName = "game_seq", allocationSize = 50)
         @Column(name = "game_id")
         private Long gameId;
 
-        @ManyToOne
+        @ManyToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "player1_id", nullable = false)
+        @ToString.Exclude
+        @EqualsAndHashCode.Exclude
         private Player player1;
 
-        @ManyToOne
+        @ManyToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "player2_id", nullable = false)
+        @ToString.Exclude
+        @EqualsAndHashCode.Exclude
         private Player player2;
 
-        @ManyToOne
+        @ManyToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "game_board1_id", nullable = false)
+        @ToString.Exclude
+        @EqualsAndHashCode.Exclude
         private GameBoard gameBoard1;
 
-        @ManyToOne
+        @ManyToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "game_board2_id", nullable = false)
+        @ToString.Exclude
+        @EqualsAndHashCode.Exclude
         private GameBoard gameBoard2;
 
         @Column(name = "result", length = 100)
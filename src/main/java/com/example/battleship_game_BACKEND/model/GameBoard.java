@@ -8,7 +8,8 @@ import lombok.Data;
 @Data
 public class GameBoard {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_board_seq")
+    @SequenceGenerator(name = "game_board_seq", sequenceName = "game_board_seq", allocationSize = 50)
     @Column(name = "game_board_id")
     private Long gameBoardId;
 
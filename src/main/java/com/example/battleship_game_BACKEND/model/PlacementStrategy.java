@@ -16,7 +16,8 @@ import java.util.Map;
 @Data
 public class PlacementStrategy {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "placement_strategy_seq")
+    @SequenceGenerator(name = "placement_strategy_seq", sequenceName = "placement_strategy_seq", allocationSize = 50)
     @Column(name = "strategy_id")
     private Long strategyId;
 
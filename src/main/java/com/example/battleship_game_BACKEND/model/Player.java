@@ -13,7 +13,8 @@ import java.util.Collection;
 @Data
 public class Player implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_seq")
+    @SequenceGenerator(name = "player_seq", sequenceName = "player_seq", allocationSize = 50)
     @Column(name = "player_id")
     private Long playerId;
 
@@ -0,0 +1,28 @@
+package com.example.battleship_game_BACKEND.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Рейтинг Elo игрока. Источник истины во время работы — RatingService (в памяти),
+ * в таблицу изменения сбрасываются пачками через RatingBatchWriter.
+ */
+@Entity
+@Table(name = "player_rating")
+@Data
+public class PlayerRating {
+    @Id
+    @Column(name = "player_id")
+    private Long playerId;
+
+    @Column(name = "rating", nullable = false)
+    private double rating;
+
+    @Column(name = "rated_games", nullable = false)
+    private int ratedGames;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
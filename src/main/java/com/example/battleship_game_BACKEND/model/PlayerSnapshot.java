@@ -0,0 +1,16 @@
+package com.example.battleship_game_BACKEND.model;
+
+/**
+ * Неизменяемый снимок строки player для PlayerCacheService.
+ * Один экземпляр безопасно отдавать всем потокам; изменения идут через сущность Player.
+ */
+public record PlayerSnapshot(Long playerId, String nickname, String avatarUrl, boolean status) {
+
+    public static PlayerSnapshot of(Player player) {
+        return new PlayerSnapshot(
+                player.getPlayerId(),
+                player.getNickname(),
+                player.getAvatarUrl(),
+                Boolean.TRUE.equals(player.getStatus()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.battleship_game_BACKEND.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Агрегированная статистика игрока, обновляемая при завершении каждой партии.
+ * Профиль читается одним запросом по первичному ключу независимо от числа сыгранных игр.
+ */
+@Entity
+@Table(name = "player_stats")
+@Data
+public class PlayerStats {
+    @Id
+    @Column(name = "player_id")
+    private Long playerId;
+
+    @Column(name = "games_played", nullable = false)
+    private int gamesPlayed;
+
+    @Column(name = "wins", nullable = false)
+    private int wins;
+
+    @Column(name = "losses", nullable = false)
+    private int losses;
+
+    @Column(name = "draws", nullable = false)
+    private int draws;
+
+    @Column(name = "shots_fired", nullable = false)
+    private long shotsFired;
+
+    @Column(name = "hits", nullable = false)
+    private long hits;
+
+    @Column(name = "current_win_streak", nullable = false)
+    private int currentWinStreak;
+
+    @Column(name = "best_win_streak", nullable = false)
+    private int bestWinStreak;
+
+    public void recordGame(boolean win, boolean draw, int shots, int shotHits) {
+        gamesPlayed++;
+        shotsFired += shots;
+        hits += shotHits;
+        if (win) {
+            wins++;
+            currentWinStreak++;
+            bestWinStreak = Math.max(bestWinStreak, currentWinStreak);
+        } else if (draw) {
+            draws++;
+            currentWinStreak = 0;
+        } else {
+            losses++;
+            currentWinStreak = 0;
+        }
+    }
+}
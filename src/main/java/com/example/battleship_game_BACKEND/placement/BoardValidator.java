@@ -0,0 +1,241 @@
+package com.example.battleship_game_BACKEND.placement;
+
+import com.example.battleship_game_BACKEND.dto.BoardLayoutDTO;
+import com.example.battleship_game_BACKEND.dto.ShipDTO;
+import com.example.battleship_game_BACKEND.model.ShipPlacement;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Серверная проверка расстановки кораблей перед стартом игры.
+ *
+ * Поле 10x10 хранится как битовая маска из двух long (биты 0..63 и 64..99),
+ * поэтому проверка не создаёт объектов и укладывается в один проход по 100 клеткам.
+ * Проверяется:
+ *  1) размер поля и допустимые символы ('S', ' ' или null);
+ *  2) выход кораблей за границы и наложения;
+ *  3) касание кораблей (в том числе углами);
+ *  4) состав флота: 1x4, 2x3, 3x2, 4x1.
+ */
+@Component
+public class BoardValidator {
+
+    public static final int BOARD_SIZE = 10;
+    public static final int FLEET_SIZE = 10;
+    private static final int MAX_SHIP_SIZE = 4;
+    private static final char SHIP = 'S';
+
+    /** Ожидаемый флот: по 4 бита на счётчик кораблей каждого размера (1..4) */
+    private static final long EXPECTED_FLEET = (4L << 4) | (3L << 8) | (2L << 12) | (1L << 16);
+
+    public enum Violation {
+        NONE(null),
+        EMPTY_LAYOUT("Расстановка не передана"),
+        BAD_DIMENSIONS("Поле должно быть размером 10x10"),
+        BAD_CELL("Недопустимый символ в клетке поля"),
+        OUT_OF_BOUNDS("Корабль выходит за границы поля"),
+        OVERLAP("Корабли накладываются друг на друга"),
+        SHIPS_TOUCH("Корабли не должны касаться друг друга"),
+        BAD_SHIP_SIZE("Недопустимый размер корабля"),
+        WRONG_FLEET("Неверный состав флота");
+
+        private final String message;
+
+        Violation(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public boolean isValid() {
+            return this == NONE;
+        }
+    }
+
+    /**
+     * Проверяет расстановку из GameReadyMessage: матрица имеет приоритет,
+     * при её отсутствии проверяется список кораблей
+     */
+    public Violation validateLayout(BoardLayoutDTO layout) {
+        if (layout == null) {
+            return Violation.EMPTY_LAYOUT;
+        }
+        if (layout.getMatrix() != null) {
+            return validateMatrix(layout.getMatrix());
+        }
+        if (layout.getShips() != null) {
+            return validateShipList(layout.getShips());
+        }
+        return Violation.EMPTY_LAYOUT;
+    }
+
+    /**
+     * Проверяет матрицу 10x10, где 'S' — палуба корабля, ' ' или null — вода
+     */
+    public Violation validateMatrix(Character[][] matrix) {
+        if (matrix == null || matrix.length != BOARD_SIZE) {
+            return Violation.BAD_DIMENSIONS;
+        }
+
+        long lo = 0L;
+        long hi = 0L;
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            Character[] line = matrix[row];
+            if (line == null || line.length != BOARD_SIZE) {
+                return Violation.BAD_DIMENSIONS;
+            }
+            for (int col = 0; col < BOARD_SIZE; col++) {
+                Character c = line[col];
+                if (c == null || c == ' ') {
+                    continue;
+                }
+                if (c != SHIP) {
+                    return Violation.BAD_CELL;
+                }
+                int bit = row * BOARD_SIZE + col;
+                if (bit < 64) {
+                    lo |= 1L << bit;
+                } else {
+                    hi |= 1L << (bit - 64);
+                }
+            }
+        }
+
+        return validateMask(lo, hi);
+    }
+
+    /**
+     * Проверяет список кораблей в формате генераторов расстановки
+     */
+    public Violation validateShips(List<ShipPlacement> ships) {
+        return validateShipList(ships);
+    }
+
+    /**
+     * Общая проверка для ShipPlacement и ShipDTO:
+     * корабли рисуются в маску с контролем границ и наложений,
+     * касания и состав флота проверяет validateMask
+     */
+    private Violation validateShipList(List<?> ships) {
+        if (ships == null || ships.size() != FLEET_SIZE) {
+            return Violation.WRONG_FLEET;
+        }
+
+        long lo = 0L;
+        long hi = 0L;
+        for (int i = 0; i < ships.size(); i++) {
+            Object ship = ships.get(i);
+            int row;
+            int col;
+            int size;
+            boolean horizontal;
+            if (ship instanceof ShipPlacement sp) {
+                row = sp.row();
+                col = sp.col();
+                size = sp.size();
+                horizontal = !sp.vertical();
+            } else if (ship instanceof ShipDTO dto) {
+                row = dto.getY();
+                col = dto.getX();
+                size = dto.getSize();
+                horizontal = dto.isHorizontal();
+            } else {
+                return Violation.WRONG_FLEET;
+            }
+
+            if (size < 1 || size > MAX_SHIP_SIZE) {
+                return Violation.BAD_SHIP_SIZE;
+            }
+            int endRow = horizontal ? row : row + size - 1;
+            int endCol = horizontal ? col + size - 1 : col;
+            if (row < 0 || col < 0 || endRow >= BOARD_SIZE || endCol >= BOARD_SIZE) {
+                return Violation.OUT_OF_BOUNDS;
+            }
+
+            for (int k = 0; k < size; k++) {
+                int bit = (horizontal ? row : row + k) * BOARD_SIZE + (horizontal ? col + k : col);
+                if (bit < 64) {
+                    long mask = 1L << bit;
+                    if ((lo & mask) != 0) {
+                        return Violation.OVERLAP;
+                    }
+                    lo |= mask;
+                } else {
+                    long mask = 1L << (bit - 64);
+                    if ((hi & mask) != 0) {
+                        return Violation.OVERLAP;
+                    }
+                    hi |= mask;
+                }
+            }
+        }
+
+        return validateMask(lo, hi);
+    }
+
+    /**
+     * Проверка касаний и состава флота по битовой маске.
+     *
+     * Если никакие две палубы не соседствуют по диагонали, то каждая связная
+     * группа клеток — прямая линия, поэтому корабль однозначно определяется
+     * своей «головой» (клеткой без соседей слева и сверху).
+     * Корабли, касающиеся торцами, сливаются в один и отсекаются проверкой состава.
+     */
+    private Violation validateMask(long lo, long hi) {
+        long fleet = 0L;
+
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            for (int col = 0; col < BOARD_SIZE; col++) {
+                if (!isSet(lo, hi, row, col)) {
+                    continue;
+                }
+
+                // Диагональные соседи снизу (верхние уже проверены на предыдущих строках)
+                if (row + 1 < BOARD_SIZE
+                        && ((col > 0 && isSet(lo, hi, row + 1, col - 1))
+                        || (col + 1 < BOARD_SIZE && isSet(lo, hi, row + 1, col + 1)))) {
+                    return Violation.SHIPS_TOUCH;
+                }
+
+                // Не голова корабля — уже посчитан
+                if ((col > 0 && isSet(lo, hi, row, col - 1)) || (row > 0 && isSet(lo, hi, row - 1, col))) {
+                    continue;
+                }
+
+                int length = 1;
+                if (col + 1 < BOARD_SIZE && isSet(lo, hi, row, col + 1)) {
+                    while (col + length < BOARD_SIZE && isSet(lo, hi, row, col + length)) {
+                        length++;
+                    }
+                } else {
+                    while (row + length < BOARD_SIZE && isSet(lo, hi, row + length, col)) {
+                        length++;
+                    }
+                }
+
+                if (length > MAX_SHIP_SIZE) {
+                    return Violation.BAD_SHIP_SIZE;
+                }
+
+                int shift = length * 4;
+                long count = (fleet >>> shift) & 0xF;
+                if (count >= ((EXPECTED_FLEET >>> shift) & 0xF)) {
+                    return Violation.WRONG_FLEET;
+                }
+                fleet += 1L << shift;
+            }
+        }
+
+        return fleet == EXPECTED_FLEET ? Violation.NONE : Violation.WRONG_FLEET;
+    }
+
+    private static boolean isSet(long lo, long hi, int row, int col) {
+        int bit = row * BOARD_SIZE + col;
+        return bit < 64
+                ? (lo & (1L << bit)) != 0
+                : (hi & (1L << (bit - 64))) != 0;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.battleship_game_BACKEND.placement;
 
 import com.example.battleship_game_BACKEND.model.ShipPlacement;
 import com.example.battleship_game_BACKEND.repository.PlacementStrategyRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -12,6 +13,7 @@ import java.util.*;
  * Корабли размещаются только в клетках, не лежащих на диагоналях.
  */
 @Component
+@Slf4j
 public class DiagonalPlacer extends BasePlacementStrategy {
 
     // ===============================================================================
@@ -219,18 +221,21 @@ public class DiagonalPlacer extends BasePlacementStrategy {
      * Выводит отладочную информацию о размещении
      */
     public void printPlacementInfo(List<ShipPlacement> placements) {
-        System.out.println("Diagonal Placement Strategy Info:");
-        System.out.println("Total diagonal cells: " + (BOARD_SIZE * 2 - 1)); // -1 для учета пересечения
-        System.out.println("Total available cells: " + getAvailableCellCount());
-        System.out.println("Total ships placed: " + placements.size());
-        System.out.println("Valid diagonal placement: " + isValidDiagonalPlacement(placements));
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        log.debug("Diagonal Placement Strategy Info:");
+        log.debug("Total diagonal cells: {}", BOARD_SIZE * 2 - 1); // -1 для учета пересечения
+        log.debug("Total available cells: {}", getAvailableCellCount());
+        log.debug("Total ships placed: {}", placements.size());
+        log.debug("Valid diagonal placement: {}", isValidDiagonalPlacement(placements));
 
         // Статистика по ориентациям
         long horizontalShips = placements.stream()
                 .filter(p -> !p.vertical())
                 .count();
-        System.out.println("Horizontal ships: " + horizontalShips);
-        System.out.println("Vertical ships: " + (placements.size() - horizontalShips));
+        log.debug("Horizontal ships: {}", horizontalShips);
+        log.debug("Vertical ships: {}", placements.size() - horizontalShips);
     }
 
     // ===============================================================================
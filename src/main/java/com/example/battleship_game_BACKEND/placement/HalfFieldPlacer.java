@@ -3,12 +3,14 @@ package com.example.battleship_game_BACKEND.placement;
 import com.example.battleship_game_BACKEND.model.ShipPlacement;
 import com.example.battleship_game_BACKEND.repository.PlacementStrategyRepository;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
 
 @Component
+@Slf4j
 public class HalfFieldPlacer extends BasePlacementStrategy {
 
     @Getter
@@ -361,10 +363,13 @@ public class HalfFieldPlacer extends BasePlacementStrategy {
      * Для отладки: выводит информацию о стратегии
      */
     public void printStrategyInfo() {
-        System.out.println("HalfFieldPlacer Strategy Info:");
-        System.out.println("Primary half: " + (useLeftHalf ? "LEFT" : "RIGHT"));
-        System.out.println("Primary columns: " + primaryColumns);
-        System.out.println("Primary cells count: " + getPrimaryHalfCellCount());
-        System.out.println("Boundaries: " + getHalfBoundaries());
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        log.debug("HalfFieldPlacer Strategy Info:");
+        log.debug("Primary half: {}", useLeftHalf ? "LEFT" : "RIGHT");
+        log.debug("Primary columns: {}", primaryColumns);
+        log.debug("Primary cells count: {}", getPrimaryHalfCellCount());
+        log.debug("Boundaries: {}", getHalfBoundaries());
     }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.example.battleship_game_BACKEND.rating;
+
+/**
+ * Классический Elo: ожидаемый результат по разнице рейтингов и поправка с коэффициентом K
+ */
+public final class EloCalculator {
+
+    public static final double INITIAL_RATING = 1000.0;
+    public static final double K_FACTOR = 32.0;
+
+    /** Верхняя граница рейтинга для полос подбора соперника; сам рейтинг ею не ограничен */
+    public static final int MAX_RATING = 4096;
+
+    private EloCalculator() {
+    }
+
+    /**
+     * Ожидаемый результат игрока A против игрока B (от 0 до 1)
+     */
+    public static double expectedScore(double ratingA, double ratingB) {
+        return 1.0 / (1.0 + Math.pow(10.0, (ratingB - ratingA) / 400.0));
+    }
+
+    /**
+     * Новый рейтинг игрока A
+     *
+     * @param score 1 — победа, 0.5 — ничья, 0 — поражение
+     */
+    public static double newRating(double ratingA, double ratingB, double score) {
+        return ratingA + K_FACTOR * (score - expectedScore(ratingA, ratingB));
+    }
+}
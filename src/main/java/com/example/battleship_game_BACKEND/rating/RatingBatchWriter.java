@@ -0,0 +1,140 @@
+package com.example.battleship_game_BACKEND.rating;
+
+import com.example.battleship_game_BACKEND.config.SchedulingConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Асинхронная запись рейтингов в player_rating.
+ *
+ * Изменения копятся в карте (для игрока хранится только последнее значение)
+ * и сбрасываются одним JDBC-батчем upsert'ов — по таймеру или при наборе batchSize.
+ * Путь завершения партии при этом не ждёт базу.
+ */
+@Component
+@Slf4j
+public class RatingBatchWriter {
+
+    private static final String POSTGRES_UPSERT_SQL =
+            "insert into player_rating (player_id, rating, rated_games, updated_at) values (?, ?, ?, ?) " +
+            "on conflict (player_id) do update set rating = excluded.rating, " +
+            "rated_games = excluded.rated_games, updated_at = excluded.updated_at";
+
+    /** H2 (встроенный прогон нагрузочного теста) в режиме PostgreSQL понимает только ON CONFLICT DO NOTHING */
+    private static final String H2_UPSERT_SQL =
+            "merge into player_rating (player_id, rating, rated_games, updated_at) key (player_id) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Map<Long, PendingRating> pending = new ConcurrentHashMap<>();
+    private final TaskScheduler taskScheduler;
+    private final Duration flushInterval;
+    private volatile ScheduledFuture<?> flushTask;
+    /** Определяется по базе при первом сбросе; читается и пишется под монитором flush() */
+    private String upsertSql;
+
+    private record PendingRating(Long playerId, double rating, int ratedGames, LocalDateTime updatedAt) {
+    }
+
+    public RatingBatchWriter(JdbcTemplate jdbcTemplate,
+                             @Qualifier(SchedulingConfig.APP_SCHEDULER) TaskScheduler taskScheduler,
+                             @Value("${app.rating.batch-size:200}") int batchSize,
+                             @Value("${app.rating.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskScheduler = taskScheduler;
+        this.batchSize = batchSize;
+        this.flushInterval = Duration.ofMillis(flushIntervalMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        flushTask = taskScheduler.scheduleWithFixedDelay(this::flushQuietly, Instant.now().plus(flushInterval), flushInterval);
+    }
+
+    public void enqueue(Long playerId, double rating, int ratedGames) {
+        pending.put(playerId, new PendingRating(playerId, rating, ratedGames, LocalDateTime.now()));
+        if (pending.size() >= batchSize) {
+            taskScheduler.schedule(this::flushQuietly, Instant.now());
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Сбрасывает накопленные рейтинги: по таймеру, при наборе batchSize и при остановке;
+     * монитор не даёт двум сбросам на разных потоках планировщика идти одновременно
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<PendingRating> batch = new ArrayList<>(pending.size());
+        for (Long playerId : pending.keySet()) {
+            PendingRating rating = pending.remove(playerId);
+            if (rating != null) {
+                batch.add(rating);
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(upsertSql(), batch, batchSize, (ps, rating) -> {
+                ps.setLong(1, rating.playerId());
+                ps.setDouble(2, rating.rating());
+                ps.setInt(3, rating.ratedGames());
+                ps.setTimestamp(4, Timestamp.valueOf(rating.updatedAt()));
+            });
+        } catch (RuntimeException e) {
+            // Возвращаем в очередь, если за это время не пришло более свежее значение
+            for (PendingRating rating : batch) {
+                pending.putIfAbsent(rating.playerId(), rating);
+            }
+            throw e;
+        }
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            upsertSql = "H2".equalsIgnoreCase(product) ? H2_UPSERT_SQL : POSTGRES_UPSERT_SQL;
+        }
+        return upsertSql;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Ошибка записи рейтингов: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ScheduledFuture<?> task = flushTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+        flushQuietly();
+    }
+}
@@ -2,12 +2,129 @@ package com.example.battleship_game_BACKEND.repository;
 
 import com.example.battleship_game_BACKEND.model.Game;
 import com.example.battleship_game_BACKEND.model.GameStatus;
+import com.example.battleship_game_BACKEND.model.GameType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
     List<Game> findByGameStatus(GameStatus status);
-    List<Game> findByPlayer1PlayerIdOrPlayer2PlayerId(Long player1Id, Long player2Id);
+
+    /**
+     * Участники и статус партии: id игроков берутся из внешних ключей, без join'ов
+     */
+    interface MatchHeader {
+        Long getGameId();
+        Long getPlayer1Id();
+        Long getPlayer2Id();
+        GameStatus getGameStatus();
+
+        default boolean isParticipant(Long playerId) {
+            return playerId.equals(getPlayer1Id()) || playerId.equals(getPlayer2Id());
+        }
+
+        /**
+         * @throws RuntimeException если playerId не участник партии
+         */
+        default Long getOpponentId(Long playerId) {
+            if (playerId.equals(getPlayer1Id())) {
+                return getPlayer2Id();
+            }
+            if (playerId.equals(getPlayer2Id())) {
+                return getPlayer1Id();
+            }
+            throw new RuntimeException("Игрок не участвует в этой игре");
+        }
+    }
+
+    /**
+     * Строка истории: партия с никнеймами игроков, без досок и остальных колонок player
+     */
+    interface GameHistoryRow {
+        Long getGameId();
+        Long getPlayer1Id();
+        String getPlayer1Nickname();
+        Long getPlayer2Id();
+        String getPlayer2Nickname();
+        String getResult();
+        GameStatus getGameStatus();
+        GameType getGameType();
+        LocalDateTime getStartDate();
+        LocalDateTime getEndDate();
+    }
+
+    @Query("select g.gameId as gameId, g.player1.playerId as player1Id, g.player2.playerId as player2Id, "
+            + "g.gameStatus as gameStatus from Game g where g.gameId = :gameId")
+    Optional<MatchHeader> findHeaderById(@Param("gameId") Long gameId);
+
+    @Query("select g.gameId as gameId, p1.playerId as player1Id, p1.nickname as player1Nickname, "
+            + "p2.playerId as player2Id, p2.nickname as player2Nickname, g.result as result, "
+            + "g.gameStatus as gameStatus, g.gameType as gameType, g.startDate as startDate, g.endDate as endDate "
+            + "from Game g join g.player1 p1 join g.player2 p2 where g.gameStatus = :status")
+    Slice<GameHistoryRow> findHistoryByStatus(@Param("status") GameStatus status, Pageable pageable);
+
+    /**
+     * Страница истории партий, где игрок был первым, строго после курсора (endDate, gameId)
+     * в порядке убывания. Идёт по индексу idx_game_player1_history (V3__query_indexes), поэтому стоимость
+     * не зависит от общего числа партий игрока.
+     */
+    @Query("select g.gameId as gameId, p1.playerId as player1Id, p1.nickname as player1Nickname, "
+            + "p2.playerId as player2Id, p2.nickname as player2Nickname, g.result as result, "
+            + "g.gameStatus as gameStatus, g.gameType as gameType, g.startDate as startDate, g.endDate as endDate "
+            + "from Game g join g.player1 p1 join g.player2 p2 "
+            + "where g.player1.playerId = :playerId and g.endDate is not null "
+            + "and (g.endDate < :beforeEnd or (g.endDate = :beforeEnd and g.gameId < :beforeId)) "
+            + "order by g.endDate desc, g.gameId desc")
+    List<GameHistoryRow> findHistoryAsPlayer1(@Param("playerId") Long playerId,
+                                              @Param("beforeEnd") LocalDateTime beforeEnd,
+                                              @Param("beforeId") Long beforeId,
+                                              Limit limit);
+
+    /**
+     * То же для партий, где игрок был вторым (индекс idx_game_player2_history)
+     */
+    @Query("select g.gameId as gameId, p1.playerId as player1Id, p1.nickname as player1Nickname, "
+            + "p2.playerId as player2Id, p2.nickname as player2Nickname, g.result as result, "
+            + "g.gameStatus as gameStatus, g.gameType as gameType, g.startDate as startDate, g.endDate as endDate "
+            + "from Game g join g.player1 p1 join g.player2 p2 "
+            + "where g.player2.playerId = :playerId and g.endDate is not null "
+            + "and (g.endDate < :beforeEnd or (g.endDate = :beforeEnd and g.gameId < :beforeId)) "
+            + "order by g.endDate desc, g.gameId desc")
+    List<GameHistoryRow> findHistoryAsPlayer2(@Param("playerId") Long playerId,
+                                              @Param("beforeEnd") LocalDateTime beforeEnd,
+                                              @Param("beforeId") Long beforeId,
+                                              Limit limit);
+
+    /**
+     * Переводит партию из ACTIVE в COMPLETED. Вернёт 0, если её уже завершил другой путь
+     * (сдача, ничья, таймаут, последний ход) или отменил губернатор живых игр.
+     * Вызывается в транзакции GameCompletionService.
+     */
+    @Modifying
+    @Query("update Game g set g.gameStatus = com.example.battleship_game_BACKEND.model.GameStatus.COMPLETED, "
+            + "g.result = :result, g.endDate = :endDate where g.gameId = :gameId "
+            + "and g.gameStatus = com.example.battleship_game_BACKEND.model.GameStatus.ACTIVE")
+    int completeActiveGame(@Param("gameId") Long gameId, @Param("result") String result,
+                           @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Отменяет брошенные активные игры одним UPDATE; завершённые не трогает
+     */
+    @Modifying
+    @Transactional
+    @Query("update Game g set g.gameStatus = com.example.battleship_game_BACKEND.model.GameStatus.CANCELLED, "
+            + "g.endDate = :endDate where g.gameId in :gameIds "
+            + "and g.gameStatus = com.example.battleship_game_BACKEND.model.GameStatus.ACTIVE")
+    int cancelActiveGames(@Param("gameIds") Collection<Long> gameIds, @Param("endDate") LocalDateTime endDate);
 }
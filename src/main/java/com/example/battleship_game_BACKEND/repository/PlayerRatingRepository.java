@@ -0,0 +1,9 @@
+package com.example.battleship_game_BACKEND.repository;
+
+import com.example.battleship_game_BACKEND.model.PlayerRating;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PlayerRatingRepository extends JpaRepository<PlayerRating, Long> {
+}
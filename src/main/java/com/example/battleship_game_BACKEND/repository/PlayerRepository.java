@@ -2,7 +2,11 @@ package com.example.battleship_game_BACKEND.repository;
 
 import com.example.battleship_game_BACKEND.model.Player;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +16,18 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
     Optional<Player> findByNickname(String nickname);
     boolean existsByNickname(String nickname);
     List<Player> findByStatus(boolean status);
-}
\ No newline at end of file
+
+    @Modifying
+    @Transactional
+    @Query("update Player p set p.status = :status where p.playerId = :playerId")
+    int updateStatus(@Param("playerId") Long playerId, @Param("status") boolean status);
+
+    /** Только колонки карточки игрока, без пароля и остальных полей */
+    @Query("select p.nickname as nickname, p.avatarUrl as avatarUrl from Player p where p.playerId = :playerId")
+    Optional<PlayerCardView> findCardById(@Param("playerId") Long playerId);
+
+    interface PlayerCardView {
+        String getNickname();
+        String getAvatarUrl();
+    }
+}
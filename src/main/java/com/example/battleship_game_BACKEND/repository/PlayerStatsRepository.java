@@ -0,0 +1,30 @@
+package com.example.battleship_game_BACKEND.repository;
+
+import com.example.battleship_game_BACKEND.model.PlayerStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PlayerStatsRepository extends JpaRepository<PlayerStats, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from PlayerStats s where s.playerId = :playerId")
+    Optional<PlayerStats> findForUpdate(@Param("playerId") Long playerId);
+
+    /**
+     * Создаёт нулевую строку, если её ещё нет. Без неё findForUpdate нечего блокировать,
+     * и две первые партии игрока одновременно вставили бы строку с одним ключом
+     */
+    @Modifying
+    @Query(value = "insert into player_stats (player_id, games_played, wins, losses, draws, shots_fired, hits, "
+            + "current_win_streak, best_win_streak) values (:playerId, 0, 0, 0, 0, 0, 0, 0, 0) "
+            + "on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("playerId") Long playerId);
+}
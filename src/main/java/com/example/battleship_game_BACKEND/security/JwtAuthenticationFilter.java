@@ -1,11 +1,15 @@
 package com.example.battleship_game_BACKEND.security;
 
+import com.example.battleship_game_BACKEND.model.Player;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,9 +19,11 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenUtil jwtTokenUtil;
@@ -30,28 +36,49 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String requestTokenHeader = request.getHeader("Authorization");
 
         String nickname = null;
-        String jwtToken = null;
+        Claims claims = null;
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
             try {
-                nickname = jwtTokenUtil.getUsernameFromToken(jwtToken);
+                // Токен разбирается один раз за запрос (или берётся из кэша)
+                claims = jwtTokenUtil.getAllClaimsFromToken(jwtToken);
+                nickname = claims.getSubject();
             } catch (IllegalArgumentException e) {
-                System.out.println("Unable to get JWT Token");
+                log.debug("Unable to get JWT Token");
             } catch (ExpiredJwtException e) {
-                System.out.println("JWT Token has expired");
+                log.debug("JWT Token has expired");
+            } catch (JwtException e) {
+                // Подпись, формат или неподдерживаемый алгоритм: запрос идёт дальше анонимным
+                log.debug("Invalid JWT Token: {}", e.getMessage());
             }
         }
 
         if (nickname != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(nickname);
+            PlayerPrincipal principal = resolvePrincipal(claims, nickname);
 
-            if (jwtToken != null && jwtTokenUtil.validateToken(jwtToken, userDetails)) {
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null, Collections.emptyList());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Principal собирается из claims; в БД идём только для старых токенов без playerId
+     */
+    private PlayerPrincipal resolvePrincipal(Claims claims, String nickname) {
+        PlayerPrincipal principal = jwtTokenUtil.getPrincipalFromClaims(claims);
+        if (principal != null) {
+            return principal;
+        }
+
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(nickname);
+        if (userDetails instanceof Player player && jwtTokenUtil.validateClaims(claims, userDetails)) {
+            return new PlayerPrincipal(player.getPlayerId(), player.getNickname());
+        }
+        return null;
+    }
+}
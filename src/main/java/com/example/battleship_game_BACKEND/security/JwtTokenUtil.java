@@ -1,8 +1,13 @@
 package com.example.battleship_game_BACKEND.security;
 
+import com.example.battleship_game_BACKEND.config.CacheConfig;
+import com.example.battleship_game_BACKEND.model.Player;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -15,14 +20,35 @@ import java.util.function.Function;
 @Component
 public class JwtTokenUtil {
 
+    public static final String CLAIM_PLAYER_ID = "playerId";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    /** Ключ и парсер создаются один раз, а не на каждый запрос */
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    /** Кэш уже проверенных токенов: token -> claims (CacheConfig.JWT_CLAIMS) */
+    private final Cache claimsCache;
+
+    public JwtTokenUtil(CacheManager cacheManager) {
+        this.claimsCache = cacheManager.getCache(CacheConfig.JWT_CLAIMS);
+    }
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
 
     public String getUsernameFromToken(String token) {
@@ -38,21 +64,33 @@ public class JwtTokenUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Возвращает claims проверенного токена.
+     * Подпись проверяется только при первом обращении, дальше claims берутся из кэша
+     * до истечения TTL кэша или срока действия токена (что наступит раньше).
+     */
+    public Claims getAllClaimsFromToken(String token) {
+        Claims cached = claimsCache.get(token, Claims.class);
+        if (cached != null && !isTokenExpired(cached)) {
+            return cached;
+        }
+
+        // Бросает ExpiredJwtException / JwtException, как и раньше
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        claimsCache.put(token, claims);
+        return claims;
     }
 
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    private Boolean isTokenExpired(Claims claims) {
+        final Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof Player player && player.getPlayerId() != null) {
+            claims.put(CLAIM_PLAYER_ID, player.getPlayerId());
+        }
         return doGenerateToken(claims, userDetails.getUsername());
     }
 
@@ -67,7 +105,25 @@ public class JwtTokenUtil {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateClaims(getAllClaimsFromToken(token), userDetails);
+    }
+
+    /**
+     * Собирает principal из claims; null — если в токене нет playerId (старый формат)
+     */
+    public PlayerPrincipal getPrincipalFromClaims(Claims claims) {
+        Number playerId = claims.get(CLAIM_PLAYER_ID, Number.class);
+        if (playerId == null || claims.getSubject() == null || isTokenExpired(claims)) {
+            return null;
+        }
+        return new PlayerPrincipal(playerId.longValue(), claims.getSubject());
+    }
+
+    /**
+     * Проверка уже разобранных claims — без повторной проверки подписи
+     */
+    public Boolean validateClaims(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username != null && username.equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.example.battleship_game_BACKEND.security;
+
+import java.security.Principal;
+
+/**
+ * Лёгкий principal, собираемый из claims JWT без обращения к БД.
+ * Если контроллеру нужна полная сущность Player — её даёт PlayerCacheService.
+ *
+ * getName() возвращает playerId: по нему работают user-destinations
+ * (convertAndSendToUser(playerId, "/queue/...")).
+ */
+public record PlayerPrincipal(Long playerId, String nickname) implements Principal {
+
+    @Override
+    public String getName() {
+        return String.valueOf(playerId);
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+}
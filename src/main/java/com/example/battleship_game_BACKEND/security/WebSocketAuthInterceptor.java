@@ -0,0 +1,52 @@
+package com.example.battleship_game_BACKEND.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Проверяет JWT один раз — на STOMP CONNECT — и привязывает PlayerPrincipal к сессии.
+ * Все последующие сообщения сессии получают этого principal автоматически,
+ * а ответы маршрутизируются через /user/queue/... по сессии.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebSocketAuthInterceptor implements ChannelInterceptor {
+
+    private final JwtTokenUtil jwtTokenUtil;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        String header = accessor.getFirstNativeHeader("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new MessageDeliveryException("Missing Authorization header in STOMP CONNECT");
+        }
+
+        PlayerPrincipal principal;
+        try {
+            Claims claims = jwtTokenUtil.getAllClaimsFromToken(header.substring(7));
+            principal = jwtTokenUtil.getPrincipalFromClaims(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new MessageDeliveryException("Invalid JWT in STOMP CONNECT: " + e.getMessage());
+        }
+        if (principal == null) {
+            throw new MessageDeliveryException("JWT does not contain playerId, please sign in again");
+        }
+
+        accessor.setUser(principal);
+        return message;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.battleship_game_BACKEND.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Партия завершена (победа, сдача или ничья). Публикуется GameCompletionService
+ * внутри транзакции; слушатели обычно реагируют после коммита.
+ *
+ * @param result ID победителя строкой, "DRAW" или null
+ */
+public record GameCompletedEvent(Long gameId,
+                                 Long player1Id, String player1Nickname,
+                                 Long player2Id, String player2Nickname,
+                                 String result,
+                                 LocalDateTime endDate) {
+
+    public boolean isDraw() {
+        return result == null || "DRAW".equals(result);
+    }
+
+    public boolean isWinner(Long playerId) {
+        return result != null && result.equals(playerId.toString());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.dto.GameStateDTO;
+import com.example.battleship_game_BACKEND.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Единая точка завершения партии: победа по кораблям, сдача, ничья и таймаут хода.
+ *
+ * Завершение — условный UPDATE ... WHERE game_status = 'ACTIVE', поэтому из нескольких
+ * одновременных путей партию завершает ровно один: только он обновляет статистику
+ * и публикует GameCompletedEvent (рейтинг, таблица лидеров). Статистика пишется
+ * в той же транзакции.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameCompletionService {
+
+    private final GameRepository gameRepository;
+    private final InMemoryGameStateService gameStateService;
+    private final PlayerStatsService playerStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlayerCardService playerCardService;
+
+    /**
+     * @param result ID победителя строкой, "DRAW" или null
+     * @return true, если партию завершил этот вызов; false — она уже не была активной
+     */
+    @Transactional
+    public boolean completeGame(GameRepository.MatchHeader game, String result) {
+        Long gameId = game.getGameId();
+        LocalDateTime endDate = LocalDateTime.now();
+        if (gameRepository.completeActiveGame(gameId, result, endDate) == 0) {
+            return false;
+        }
+
+        GameStateDTO state = gameStateService.getGameState(gameId);
+        Long player1Id = game.getPlayer1Id();
+        Long player2Id = game.getPlayer2Id();
+        playerStatsService.recordGameResult(player1Id, player2Id, result, state);
+        // Никнеймы из кэша карточек: игроков из базы не читаем
+        eventPublisher.publishEvent(new GameCompletedEvent(
+                gameId,
+                player1Id, playerCardService.getCard(player1Id).nickname(),
+                player2Id, playerCardService.getCard(player2Id).nickname(),
+                result,
+                endDate));
+
+        // Удаляем состояние из памяти
+        gameStateService.removeGameState(gameId);
+        return true;
+    }
+}
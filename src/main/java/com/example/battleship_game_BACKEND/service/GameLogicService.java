@@ -2,15 +2,14 @@
 package com.example.battleship_game_BACKEND.service;
 
 import com.example.battleship_game_BACKEND.dto.GameStateDTO;
-import com.example.battleship_game_BACKEND.model.Game;
 import com.example.battleship_game_BACKEND.model.GameBoard;
+import com.example.battleship_game_BACKEND.metrics.GameMetrics;
 import com.example.battleship_game_BACKEND.model.GameStatus;
 import com.example.battleship_game_BACKEND.repository.GameRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.ArrayList;
@@ -18,125 +17,156 @@ import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class GameLogicService {
 
+    /** Ключ результата processMove с заголовком партии (MatchHeader); клиенту не отправляется */
+    public static final String MATCH_HEADER = "matchHeader";
+
     private final InMemoryGameStateService gameStateService;
     private final GameRepository gameRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final PlayerMessagingService playerMessagingService;
+    private final GameCompletionService gameCompletionService;
+    private final TurnTimerService turnTimerService;
+    private final GameMetrics gameMetrics;
 
     /**
      * Обработка хода игрока
      */
     public Map<String, Object> processMove(Long gameId, Long playerId, int row, int col) {
-        GameStateDTO state = gameStateService.getGameState(gameId);
-        if (state == null) {
-            throw new RuntimeException("Игра не найдена или не активна");
-        }
-
-        // Проверяем, что игра активна
-        Game game = gameRepository.findById(gameId)
-                .orElseThrow(() -> new RuntimeException("Игра не найдена"));
+        long started = System.nanoTime();
+        String outcome = "rejected";
+        try {
+            GameStateDTO state = gameStateService.getGameState(gameId);
+            if (state == null) {
+                throw new RuntimeException("Игра не найдена или не активна");
+            }
 
-        if (game.getGameStatus() != GameStatus.ACTIVE) {
-            throw new RuntimeException("Игра не активна");
-        }
+            // Проверяем, что игра активна: только заголовок партии, без игроков и досок
+            GameRepository.MatchHeader game = gameRepository.findHeaderById(gameId)
+                    .orElseThrow(() -> new RuntimeException("Игра не найдена"));
 
-        // Проверяем, что сейчас ход этого игрока
-        if (!state.getCurrentTurnPlayerId().equals(playerId)) {
-            throw new RuntimeException("Не ваш ход");
-        }
+            if (game.getGameStatus() != GameStatus.ACTIVE) {
+                throw new RuntimeException("Игра не активна");
+            }
 
-        // Проверяем валидность координат
-        if (row < 0 || row >= 10 || col < 0 || col >= 10) {
-            throw new RuntimeException("Неверные координаты");
-        }
+            // Проверяем, что сейчас ход этого игрока
+            if (!state.getCurrentTurnPlayerId().equals(playerId)) {
+                throw new RuntimeException("Не ваш ход");
+            }
 
-        // Определяем, кто стреляет (player1 или player2)
-        Long player1Id = game.getPlayer1().getPlayerId();
-        Long player2Id = game.getPlayer2().getPlayerId();
+            // Проверяем валидность координат
+            if (row < 0 || row >= 10 || col < 0 || col >= 10) {
+                throw new RuntimeException("Неверные координаты");
+            }
 
-        boolean isPlayer1 = playerId.equals(player1Id);
-        boolean isPlayer2 = playerId.equals(player2Id);
+            // Определяем, кто стреляет (player1 или player2)
+            Long player1Id = game.getPlayer1Id();
+            Long player2Id = game.getPlayer2Id();
 
-        if (!isPlayer1 && !isPlayer2) {
-            throw new RuntimeException("Игрок не участвует в этой игре");
-        }
+            boolean isPlayer1 = playerId.equals(player1Id);
+            boolean isPlayer2 = playerId.equals(player2Id);
 
-        // Определяем поле противника и матрицу попаданий
-        Character[][] opponentField = isPlayer1 ? state.getPlayer2Field() : state.getPlayer1Field();
-        Character[][] playerHits = isPlayer1 ? state.getPlayer1Hits() : state.getPlayer2Hits();
+            if (!isPlayer1 && !isPlayer2) {
+                throw new RuntimeException("Игрок не участвует в этой игре");
+            }
 
-        // Проверяем, что в эту клетку еще не стреляли
-        if (playerHits[row][col] != ' ') {
-            throw new RuntimeException("Уже стреляли в эту клетку");
-        }
+            // Определяем поле противника и матрицу попаданий
+            Character[][] opponentField = isPlayer1 ? state.getPlayer2Field() : state.getPlayer1Field();
+            Character[][] playerHits = isPlayer1 ? state.getPlayer1Hits() : state.getPlayer2Hits();
 
-        Map<String, Object> result = new HashMap<>();
+            // Проверяем, что в эту клетку еще не стреляли
+            if (playerHits[row][col] != ' ') {
+                throw new RuntimeException("Уже стреляли в эту клетку");
+            }
 
-        // Проверяем попадание
-        if (opponentField[row][col] == 'S') {
-            // Попадание
-            playerHits[row][col] = 'H'; // Hit
-            result.put("hit", true);
-            result.put("message", "Попадание!");
+            long validated = System.nanoTime();
+            gameMetrics.recordPhase(GameMetrics.PHASE_VALIDATE, validated - started);
 
-            // Обновляем счетчики
-            if (isPlayer1) {
-                state.setPlayer1HitsCount(state.getPlayer1HitsCount() + 1);
-            } else {
-                state.setPlayer2HitsCount(state.getPlayer2HitsCount() + 1);
-            }
+            Map<String, Object> result = new HashMap<>();
 
-            // Проверяем, потоплен ли корабль
-            boolean isSunk = checkIfShipSunk(row, col, opponentField, playerHits);
-            result.put("sunk", isSunk);
+            // Проверяем попадание
+            if (opponentField[row][col] == 'S') {
+                // Попадание
+                playerHits[row][col] = 'H'; // Hit
+                result.put("hit", true);
+                result.put("message", "Попадание!");
 
-            if (isSunk) {
-                result.put("message", "Корабль потоплен!");
-                markSurroundingAsMiss(opponentField, playerHits, row, col);
-                // Обновляем количество оставшихся кораблей
-                int shipsLeft = countShipsLeft(opponentField, playerHits);
+                // Обновляем счетчики
                 if (isPlayer1) {
-                    state.setPlayer2ShipsLeft(shipsLeft);
+                    state.setPlayer1HitsCount(state.getPlayer1HitsCount() + 1);
                 } else {
-                    state.setPlayer1ShipsLeft(shipsLeft);
+                    state.setPlayer2HitsCount(state.getPlayer2HitsCount() + 1);
                 }
-            }
-        } else {
-            // Промах
-            playerHits[row][col] = 'M'; // Miss
-            result.put("hit", false);
-            result.put("message", "Промах");
-
-            // Меняем ход
-            Long nextPlayerId = isPlayer1 ? player2Id : player1Id;
-            state.setCurrentTurnPlayerId(nextPlayerId);
-        }
 
-        // Обновляем счетчик выстрелов
-        if (isPlayer1) {
-            state.setPlayer1ShotsFired(state.getPlayer1ShotsFired() + 1);
-        } else {
-            state.setPlayer2ShotsFired(state.getPlayer2ShotsFired() + 1);
-        }
-
-        // Обновляем состояние в памяти
-        gameStateService.updateGameState(state);
-        // Отправляем обновления обоим игрокам
-        sendGameStateToPlayers(game);
-        // Проверяем, не закончилась ли игра
-        checkGameOver(game, state);
+                // Проверяем, потоплен ли корабль
+                boolean isSunk = checkIfShipSunk(row, col, opponentField, playerHits);
+                result.put("sunk", isSunk);
+
+                if (isSunk) {
+                    result.put("message", "Корабль потоплен!");
+                    markSurroundingAsMiss(opponentField, playerHits, row, col);
+                    // Обновляем количество оставшихся кораблей
+                    int shipsLeft = countShipsLeft(opponentField, playerHits);
+                    if (isPlayer1) {
+                        state.setPlayer2ShipsLeft(shipsLeft);
+                    } else {
+                        state.setPlayer1ShipsLeft(shipsLeft);
+                    }
+                }
+            } else {
+                // Промах
+                playerHits[row][col] = 'M'; // Miss
+                result.put("hit", false);
+                result.put("message", "Промах");
+
+                // Меняем ход
+                Long nextPlayerId = isPlayer1 ? player2Id : player1Id;
+                state.setCurrentTurnPlayerId(nextPlayerId);
+            }
 
-        // Добавляем информацию в результат
-        result.put("gameId", gameId);
-        result.put("playerId", playerId);
-        result.put("row", row);
-        result.put("col", col);
-        result.put("nextTurnPlayerId", state.getCurrentTurnPlayerId());
-        result.put("player1ShipsLeft", state.getPlayer1ShipsLeft());
-        result.put("player2ShipsLeft", state.getPlayer2ShipsLeft());
+            // Обновляем счетчик выстрелов
+            if (isPlayer1) {
+                state.setPlayer1ShotsFired(state.getPlayer1ShotsFired() + 1);
+            } else {
+                state.setPlayer2ShotsFired(state.getPlayer2ShotsFired() + 1);
+            }
 
-        return result;
+            long resolved = System.nanoTime();
+            gameMetrics.recordPhase(GameMetrics.PHASE_RESOLVE, resolved - validated);
+
+            // Обновляем состояние в памяти
+            gameStateService.updateGameState(state);
+            // Часы хода для того, кто ходит следующим (при завершении игры снимутся)
+            turnTimerService.arm(state);
+            long stateUpdated = System.nanoTime();
+            gameMetrics.recordPhase(GameMetrics.PHASE_STATE, stateUpdated - resolved);
+
+            // Отправляем обновления обоим игрокам
+            sendGameStateToPlayers(game);
+            long pushed = System.nanoTime();
+            gameMetrics.recordPhase(GameMetrics.PHASE_PUSH, pushed - stateUpdated);
+
+            // Проверяем, не закончилась ли игра; GAME_ENDED отправит тот, кто её завершил
+            checkGameOver(game, state, result);
+            gameMetrics.recordPhase(GameMetrics.PHASE_COMPLETE, System.nanoTime() - pushed);
+            outcome = Boolean.TRUE.equals(result.get("hit")) ? "hit" : "miss";
+
+            // Добавляем информацию в результат
+            result.put("gameId", gameId);
+            result.put("playerId", playerId);
+            result.put("row", row);
+            result.put("col", col);
+            result.put("nextTurnPlayerId", state.getCurrentTurnPlayerId());
+            result.put("player1ShipsLeft", state.getPlayer1ShipsLeft());
+            result.put("player2ShipsLeft", state.getPlayer2ShipsLeft());
+            // Заголовок партии для GAME_ENDED: вызывающему не нужен второй запрос
+            result.put(MATCH_HEADER, game);
+
+            return result;
+        } finally {
+            gameMetrics.recordMove(outcome, System.nanoTime() - started);
+        }
     }
 
     /**
@@ -220,24 +250,22 @@ public class GameLogicService {
     /**
      * Проверка завершения игры
      */
-    private void checkGameOver(Game game, GameStateDTO state) {
+    private void checkGameOver(GameRepository.MatchHeader header, GameStateDTO state, Map<String, Object> moveResult) {
         if (state.getPlayer1ShipsLeft() == 0 || state.getPlayer2ShipsLeft() == 0) {
-            game.setGameStatus(GameStatus.COMPLETED);
-            game.setEndDate(LocalDateTime.now());
-
+            String result;
             if (state.getPlayer1ShipsLeft() == 0 && state.getPlayer2ShipsLeft() == 0) {
-                game.setResult("DRAW");
-                game.setResult(null); // В случае ничьей победителя нет
+                result = null; // В случае ничьей победителя нет
             } else if (state.getPlayer1ShipsLeft() == 0) {
-                game.setResult(game.getPlayer2().getPlayerId().toString());
+                result = header.getPlayer2Id().toString();
             } else {
-                game.setResult(game.getPlayer1().getPlayerId().toString());
+                result = header.getPlayer1Id().toString();
             }
 
-            gameRepository.save(game);
-
-            // Удаляем состояние из памяти (опционально, можно оставить для истории)
-            gameStateService.removeGameState(game.getGameId());
+            // Сохранение итога, статистика и очистка состояния в памяти
+            if (gameCompletionService.completeGame(header, result)) {
+                moveResult.put("gameOver", true);
+                moveResult.put("gameResult", result);
+            }
         }
     }
 
@@ -250,12 +278,12 @@ public class GameLogicService {
             throw new RuntimeException("Игра не найдена");
         }
 
-        Game game = gameRepository.findById(gameId)
+        GameRepository.MatchHeader game = gameRepository.findHeaderById(gameId)
                 .orElseThrow(() -> new RuntimeException("Игра не найдена"));
 
         // Определяем, кто является текущим игроком
-        boolean isPlayer1 = playerId.equals(game.getPlayer1().getPlayerId());
-        boolean isPlayer2 = playerId.equals(game.getPlayer2().getPlayerId());
+        boolean isPlayer1 = playerId.equals(game.getPlayer1Id());
+        boolean isPlayer2 = playerId.equals(game.getPlayer2Id());
 
         if (!isPlayer1 && !isPlayer2) {
             throw new RuntimeException("Игрок не участвует в этой игре");
@@ -313,9 +341,9 @@ public class GameLogicService {
         return hidden;
     }
 
-    private void sendGameStateToPlayers(Game game) {
-        Long playerId1 = game.getPlayer1().getPlayerId();
-        Long playerId2 = game.getPlayer2().getPlayerId();
+    private void sendGameStateToPlayers(GameRepository.MatchHeader game) {
+        Long playerId1 = game.getPlayer1Id();
+        Long playerId2 = game.getPlayer2Id();
 
         // Отправляем обновление состояния каждому игроку
         sendGameStateToPlayer(game.getGameId(), playerId1);
@@ -325,12 +353,13 @@ public class GameLogicService {
     private void sendGameStateToPlayer(Long gameId, Long playerId) {
         try {
             Map<String, Object> gameState = getGameStateForPlayer(gameId, playerId);
-            messagingTemplate.convertAndSend(
-                    "/queue/game.state/" + playerId,
+            playerMessagingService.sendToPlayer(
+                    playerId,
+                    PlayerMessagingService.GAME_STATE,
                     gameState
             );
         } catch (Exception e) {
-            System.err.println("Ошибка при отправке состояния игроку " + playerId + ": " + e.getMessage());
+            log.warn("Ошибка при отправке состояния игроку {}: {}", playerId, e.getMessage());
         }
     }
     /**
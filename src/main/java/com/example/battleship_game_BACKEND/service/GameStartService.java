@@ -0,0 +1,242 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.dto.BoardLayoutDTO;
+import com.example.battleship_game_BACKEND.dto.GameStartNotification;
+import com.example.battleship_game_BACKEND.dto.PendingGame;
+import com.example.battleship_game_BACKEND.dto.PlayerCard;
+import com.example.battleship_game_BACKEND.dto.ShipDTO;
+import com.example.battleship_game_BACKEND.model.Game;
+import com.example.battleship_game_BACKEND.model.GameBoard;
+import com.example.battleship_game_BACKEND.model.GameStatus;
+import com.example.battleship_game_BACKEND.repository.GameBoardRepository;
+import com.example.battleship_game_BACKEND.repository.GameRepository;
+import com.example.battleship_game_BACKEND.repository.PlayerRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Запуск игры после того, как оба игрока прислали game.ready.
+ *
+ * Вызывается уже после того, как пара атомарно забрана из PendingGameRegistry,
+ * и работает на собственном пуле: загрузка игроков, сохранение досок и игры
+ * выполняются одной транзакцией, затем инициализируется состояние в памяти
+ * и рассылаются уведомления. Поток STOMP и блокировки реестра медленный
+ * коммит не ждут.
+ */
+@Service
+@Slf4j
+public class GameStartService {
+
+    private final PlayerRepository playerRepository;
+    private final GameRepository gameRepository;
+    private final GameBoardRepository gameBoardRepository;
+    private final InMemoryGameStateService inMemoryGameStateService;
+    private final GameLogicService gameLogicService;
+    private final PlayerMessagingService playerMessagingService;
+    private final TransactionTemplate transactionTemplate;
+    private final TurnTimerService turnTimerService;
+    private final PlayerCardService playerCardService;
+
+    private final ThreadPoolExecutor startExecutor;
+
+    public GameStartService(PlayerRepository playerRepository,
+                            GameRepository gameRepository,
+                            GameBoardRepository gameBoardRepository,
+                            InMemoryGameStateService inMemoryGameStateService,
+                            GameLogicService gameLogicService,
+                            PlayerMessagingService playerMessagingService,
+                            TransactionTemplate transactionTemplate,
+                            TurnTimerService turnTimerService,
+                            PlayerCardService playerCardService,
+                            @Value("${app.game-start.threads:4}") int threads,
+                            @Value("${app.game-start.queue-capacity:1000}") int queueCapacity) {
+        this.playerRepository = playerRepository;
+        this.gameRepository = gameRepository;
+        this.gameBoardRepository = gameBoardRepository;
+        this.inMemoryGameStateService = inMemoryGameStateService;
+        this.gameLogicService = gameLogicService;
+        this.playerMessagingService = playerMessagingService;
+        this.transactionTemplate = transactionTemplate;
+        this.turnTimerService = turnTimerService;
+        this.playerCardService = playerCardService;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // При переполнении очереди игру создаёт вызывающий поток — естественное торможение входящих game.ready
+        this.startExecutor = new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "game-start-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Асинхронно создаёт игру для готовой пары
+     */
+    public CompletableFuture<Game> startGame(PendingGame pg) {
+        return CompletableFuture
+                .supplyAsync(() -> createGame(pg), startExecutor)
+                .thenApply(game -> {
+                    // рандомим, кто ходит первым
+                    Long currentTurn = ThreadLocalRandom.current().nextBoolean()
+                            ? game.getPlayer1().getPlayerId()
+                            : game.getPlayer2().getPlayerId();
+                    inMemoryGameStateService.initializeGameState(game, currentTurn);
+                    turnTimerService.arm(inMemoryGameStateService.getGameState(game.getGameId()));
+
+                    sendGameStartToPlayers(game, currentTurn);
+                    sendGameStateToPlayer(game.getGameId(), pg.getPlayer1Id());
+                    sendGameStateToPlayer(game.getGameId(), pg.getPlayer2Id());
+                    return game;
+                })
+                .whenComplete((game, error) -> {
+                    if (error != null) {
+                        log.error("Ошибка запуска игры для пары {}-{}", pg.getPlayer1Id(), pg.getPlayer2Id(), error);
+                        sendStartError(pg.getPlayer1Id());
+                        sendStartError(pg.getPlayer2Id());
+                    }
+                });
+    }
+
+    /**
+     * Доски и игра сохраняются в одной транзакции. Игроки не загружаются:
+     * для внешних ключей достаточно ссылок, а имена для уведомлений берутся из PlayerCardService
+     */
+    private Game createGame(PendingGame pg) {
+        Long p1Id = pg.getPlayer1Id();
+        Long p2Id = pg.getPlayer2Id();
+        log.debug("Запускаем игру для пары: {}-{}", p1Id, p2Id);
+
+        return transactionTemplate.execute(status -> {
+            GameBoard board1 = createBoardFromLayout(pg.getBoard1());
+            GameBoard board2 = createBoardFromLayout(pg.getBoard2());
+            gameBoardRepository.saveAll(List.of(board1, board2));
+
+            Game game = new Game();
+            game.setPlayer1(playerRepository.getReferenceById(p1Id));
+            game.setPlayer2(playerRepository.getReferenceById(p2Id));
+            game.setGameBoard1(board1);
+            game.setGameBoard2(board2);
+            game.setGameStatus(GameStatus.ACTIVE);
+            game.setGameType(pg.getGameType());
+            game.setStartDate(LocalDateTime.now());
+
+            return gameRepository.save(game);
+        });
+    }
+
+    private GameBoard createBoardFromLayout(BoardLayoutDTO layout) {
+        GameBoard board = new GameBoard();
+
+        // На всякий случай создаём нормальный массив 10x10
+        Character[][] matrix = new Character[10][10];
+
+        // Если layout пришёл — аккуратно копируем, иначе заполняем пробелами
+        Character[][] src = (layout != null) ? layout.getMatrix() : null;
+
+        // Клиент мог прислать только список кораблей — рисуем его в матрицу
+        if (src == null && layout != null && layout.getShips() != null) {
+            src = renderShips(layout.getShips());
+        }
+
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                Character c = ' '; // по умолчанию пустая клетка
+
+                if (src != null
+                        && row < src.length
+                        && src[row] != null
+                        && col < src[row].length
+                        && src[row][col] != null) {
+
+                    c = src[row][col];
+                }
+
+                matrix[row][col] = c;
+            }
+        }
+
+        // Конвертируем 10x10 в строку и сохраняем в сущности
+        board.setPlacementMatrixFromArray(matrix);
+        return board;
+    }
+
+    /**
+     * Преобразует список кораблей (уже прошедший BoardValidator) в матрицу 10x10
+     */
+    private Character[][] renderShips(List<ShipDTO> ships) {
+        Character[][] matrix = new Character[10][10];
+        for (ShipDTO ship : ships) {
+            for (int k = 0; k < ship.getSize(); k++) {
+                int row = ship.isHorizontal() ? ship.getY() : ship.getY() + k;
+                int col = ship.isHorizontal() ? ship.getX() + k : ship.getX();
+                matrix[row][col] = 'S';
+            }
+        }
+        return matrix;
+    }
+
+    private void sendGameStartToPlayers(Game game, Long currentTurnPlayerId) {
+        PlayerCard p1 = playerCardService.getCard(game.getPlayer1().getPlayerId());
+        PlayerCard p2 = playerCardService.getCard(game.getPlayer2().getPlayerId());
+
+        GameStartNotification forP1 = new GameStartNotification();
+        forP1.setGameId(game.getGameId());
+        forP1.setOpponentId(p2.playerId());
+        forP1.setOpponentNickname(p2.nickname());
+        forP1.setOpponentAvatarUrl(p2.avatarUrl());
+        forP1.setOpponentRating(p2.rating());
+        forP1.setCurrentTurnPlayerId(currentTurnPlayerId);
+
+        GameStartNotification forP2 = new GameStartNotification();
+        forP2.setGameId(game.getGameId());
+        forP2.setOpponentId(p1.playerId());
+        forP2.setOpponentNickname(p1.nickname());
+        forP2.setOpponentAvatarUrl(p1.avatarUrl());
+        forP2.setOpponentRating(p1.rating());
+        forP2.setCurrentTurnPlayerId(currentTurnPlayerId);
+
+        log.info("Игра {} началась: игроки {} и {}", game.getGameId(), p1.playerId(), p2.playerId());
+        playerMessagingService.sendToPlayer(p1.playerId(), PlayerMessagingService.GAME_START, forP1);
+        playerMessagingService.sendToPlayer(p2.playerId(), PlayerMessagingService.GAME_START, forP2);
+    }
+
+    private void sendGameStateToPlayer(Long gameId, Long playerId) {
+        try {
+            Map<String, Object> gameState = gameLogicService.getGameStateForPlayer(gameId, playerId);
+            playerMessagingService.sendToPlayer(playerId, PlayerMessagingService.GAME_STATE, gameState);
+        } catch (Exception e) {
+            log.warn("Ошибка при отправке состояния игроку {}: {}", playerId, e.getMessage());
+        }
+    }
+
+    private void sendStartError(Long playerId) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", true);
+        error.put("message", "Не удалось начать игру, попробуйте ещё раз");
+        playerMessagingService.sendToPlayer(playerId, PlayerMessagingService.GAME_ERROR, error);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        startExecutor.shutdown();
+    }
+}
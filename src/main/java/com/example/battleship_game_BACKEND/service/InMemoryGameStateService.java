@@ -6,13 +6,66 @@ import com.example.battleship_game_BACKEND.model.Game;
 import com.example.battleship_game_BACKEND.model.GameBoard;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class InMemoryGameStateService {
 
-    private final Map<Long, GameStateDTO> gameStates = new ConcurrentHashMap<>();
+    /**
+     * Оценка памяти одной живой игры: четыре матрицы 10x10 из Character
+     * (внешний массив + 10 строк по 16 байт заголовка и 10 ссылок) плюс DTO, запись и узел карты.
+     * Объекты Character для ASCII берутся из кэша и не учитываются.
+     */
+    public static final long ESTIMATED_BYTES_PER_GAME = 4 * (16 + 10 * 4 + 10 * (16 + 10 * 4)) + 256;
+
+    private final Map<Long, LiveGame> gameStates = new ConcurrentHashMap<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+
+    /**
+     * Состояние игры в памяти вместе с учётными данными для LiveGameGovernor
+     */
+    public static final class LiveGame {
+        private final GameStateDTO state;
+        private final Long player1Id;
+        private final Long player2Id;
+        private final long createdAtMillis;
+        private volatile long lastActivityMillis;
+        /** Кто предложил ничью и ждёт ответа; null — предложения нет */
+        private final AtomicReference<Long> drawOfferedBy = new AtomicReference<>();
+
+        private LiveGame(GameStateDTO state, Long player1Id, Long player2Id, long now) {
+            this.state = state;
+            this.player1Id = player1Id;
+            this.player2Id = player2Id;
+            this.createdAtMillis = now;
+            this.lastActivityMillis = now;
+        }
+
+        public GameStateDTO getState() {
+            return state;
+        }
+
+        public Long getPlayer1Id() {
+            return player1Id;
+        }
+
+        public Long getPlayer2Id() {
+            return player2Id;
+        }
+
+        public long getCreatedAtMillis() {
+            return createdAtMillis;
+        }
+
+        public long getLastActivityMillis() {
+            return lastActivityMillis;
+        }
+    }
 
     /**
      * Инициализирует состояние игры при старте
@@ -51,28 +104,75 @@ public class InMemoryGameStateService {
         state.setPlayer1HitsCount(0);
         state.setPlayer2HitsCount(0);
 
-        gameStates.put(game.getGameId(), state);
+        LiveGame previous = gameStates.put(game.getGameId(), new LiveGame(state,
+                game.getPlayer1().getPlayerId(), game.getPlayer2().getPlayerId(), System.currentTimeMillis()));
+        if (previous == null) {
+            estimatedBytes.addAndGet(ESTIMATED_BYTES_PER_GAME);
+        }
     }
 
     /**
      * Получает состояние игры
      */
     public GameStateDTO getGameState(Long gameId) {
-        return gameStates.get(gameId);
+        LiveGame live = gameStates.get(gameId);
+        return live != null ? live.state : null;
     }
 
     /**
      * Обновляет состояние игры
      */
     public void updateGameState(GameStateDTO state) {
-        gameStates.put(state.getGameId(), state);
+        // Состояние изменяется на месте, здесь только отмечаем активность
+        LiveGame live = gameStates.get(state.getGameId());
+        if (live != null) {
+            live.lastActivityMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Запоминает предложение ничьей; false — игры нет в памяти
+     */
+    public boolean offerDraw(Long gameId, Long playerId) {
+        LiveGame live = gameStates.get(gameId);
+        if (live == null) {
+            return false;
+        }
+        live.drawOfferedBy.set(playerId);
+        return true;
+    }
+
+    /**
+     * Снимает предложение ничьей, сделанное соперником playerId.
+     * true — предложение было, и ответить на него может только один вызов
+     */
+    public boolean takeDrawOffer(Long gameId, Long playerId) {
+        LiveGame live = gameStates.get(gameId);
+        if (live == null) {
+            return false;
+        }
+        Long offeredBy = live.drawOfferedBy.get();
+        return offeredBy != null && !offeredBy.equals(playerId) && live.drawOfferedBy.compareAndSet(offeredBy, null);
     }
 
     /**
      * Удаляет состояние игры (при завершении)
      */
     public void removeGameState(Long gameId) {
-        gameStates.remove(gameId);
+        if (gameStates.remove(gameId) != null) {
+            estimatedBytes.addAndGet(-ESTIMATED_BYTES_PER_GAME);
+        }
+    }
+
+    /**
+     * Удаляет именно эту запись (если за это время игру не пересоздали)
+     */
+    public boolean removeLiveGame(Long gameId, LiveGame live) {
+        if (gameStates.remove(gameId, live)) {
+            estimatedBytes.addAndGet(-ESTIMATED_BYTES_PER_GAME);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -82,6 +182,21 @@ public class InMemoryGameStateService {
         return gameStates.containsKey(gameId);
     }
 
+    /**
+     * Снимок живых игр для обхода LiveGameGovernor
+     */
+    public List<Map.Entry<Long, LiveGame>> snapshotLiveGames() {
+        return new ArrayList<>(gameStates.entrySet());
+    }
+
+    public int getLiveGameCount() {
+        return gameStates.size();
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes.get();
+    }
+
     /**
      * Создает пустую матрицу попаданий
      */
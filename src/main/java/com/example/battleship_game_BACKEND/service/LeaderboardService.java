@@ -0,0 +1,222 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.dto.LeaderboardEntryDTO;
+import com.example.battleship_game_BACKEND.dto.LeaderboardPageDTO;
+import com.example.battleship_game_BACKEND.leaderboard.LeaderboardIndex;
+import com.example.battleship_game_BACKEND.leaderboard.RankedPlayer;
+import com.example.battleship_game_BACKEND.model.GameStatus;
+import com.example.battleship_game_BACKEND.rating.EloCalculator;
+import com.example.battleship_game_BACKEND.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Таблица лидеров в памяти: место игрока и страницы считаются по LeaderboardIndex
+ * за O(log n) без обращения к PostgreSQL. Индекс перестраивается при старте из снимка
+ * рейтингов RatingService (победы, поражения и ничьи считаются по таблице game)
+ * и обновляется по RatingsUpdatedEvent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardService {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+    public static final int MAX_PAGE_SIZE = 100;
+    /** Запас на партии, закоммиченные до начала перестройки, чьё событие ещё не дошло до индекса */
+    private static final Duration REBUILD_OVERLAP = Duration.ofMinutes(1);
+
+    private final GameRepository gameRepository;
+    private final RatingService ratingService;
+
+    private volatile LeaderboardIndex index = new LeaderboardIndex();
+
+    /** Обновления индекса приходят из виртуальных потоков STOMP: lock вместо монитора, чтобы не закреплять носитель */
+    private final ReentrantLock indexLock = new ReentrantLock();
+
+    /**
+     * Свежие партии, уже посчитанные перестройкой: их RatingsUpdatedEvent не должен
+     * добавить итог второй раз. Доступ только под indexLock
+     */
+    private final Set<Long> rebuiltGameIds = new HashSet<>();
+
+    @EventListener
+    public void onRatingsUpdated(RatingsUpdatedEvent event) {
+        GameCompletedEvent game = event.game();
+        indexLock.lock();
+        try {
+            if (rebuiltGameIds.remove(game.gameId())) {
+                // Итог партии уже в индексе, но снимок рейтингов мог быть снят до её пересчёта
+                applyRating(index, game.player1Id(), event.player1Rating());
+                applyRating(index, game.player2Id(), event.player2Rating());
+                return;
+            }
+            applyGame(index, game.player1Id(), game.player1Nickname(), event.player1Rating(),
+                    game.player2Id(), game.player2Nickname(), event.player2Rating(), game.result());
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    /**
+     * Перестраивает индекс: рейтинги — текущий снимок RatingService, итоги партий
+     * и никнеймы — по завершённым играм. Лок держится всё время, поэтому событие партии,
+     * завершившейся во время перестройки, применяется уже к новому индексу. Если эту партию
+     * прочитал и сам запрос по таблице game, её id остаётся в rebuiltGameIds, и событие
+     * обновляет только рейтинги: каждая партия учитывается в итогах ровно один раз.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        LeaderboardIndex fresh = new LeaderboardIndex();
+        indexLock.lock();
+        try {
+            rebuiltGameIds.clear();
+            LocalDateTime recentSince = LocalDateTime.now().minus(REBUILD_OVERLAP);
+            Map<Long, Double> ratings = ratingService.snapshotRatings();
+            Map<Long, Tally> tallies = tallyCompletedGames(recentSince);
+            tallies.forEach((playerId, tally) -> fresh.upsert(new RankedPlayer(playerId, tally.nickname,
+                    ratings.getOrDefault(playerId, EloCalculator.INITIAL_RATING),
+                    tally.wins, tally.losses, tally.draws)));
+            index = fresh;
+        } finally {
+            indexLock.unlock();
+        }
+        log.info("Таблица лидеров перестроена: {} игроков", fresh.size());
+    }
+
+    /** Итоги партий игрока, накапливаемые при перестройке */
+    private static final class Tally {
+        private String nickname;
+        private int wins;
+        private int losses;
+        private int draws;
+    }
+
+    /**
+     * Считает итоги по всем завершённым партиям; id партий, закончившихся после recentSince,
+     * запоминаются в rebuiltGameIds — только для них событие может прийти после перестройки
+     */
+    private Map<Long, Tally> tallyCompletedGames(LocalDateTime recentSince) {
+        Map<Long, Tally> tallies = new HashMap<>();
+        PageRequest page = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("endDate", "gameId"));
+        Slice<GameRepository.GameHistoryRow> slice;
+        do {
+            slice = gameRepository.findHistoryByStatus(GameStatus.COMPLETED, page);
+            for (GameRepository.GameHistoryRow game : slice) {
+                if (game.getEndDate() == null || !game.getEndDate().isBefore(recentSince)) {
+                    rebuiltGameIds.add(game.getGameId());
+                }
+                String result = game.getResult();
+                boolean draw = result == null || "DRAW".equals(result);
+                boolean p1Won = !draw && result.equals(game.getPlayer1Id().toString());
+
+                Tally p1 = tallies.computeIfAbsent(game.getPlayer1Id(), id -> new Tally());
+                Tally p2 = tallies.computeIfAbsent(game.getPlayer2Id(), id -> new Tally());
+                p1.nickname = game.getPlayer1Nickname();
+                p2.nickname = game.getPlayer2Nickname();
+                if (draw) {
+                    p1.draws++;
+                    p2.draws++;
+                } else if (p1Won) {
+                    p1.wins++;
+                    p2.losses++;
+                } else {
+                    p1.losses++;
+                    p2.wins++;
+                }
+            }
+            page = page.next();
+        } while (slice.hasNext());
+        return tallies;
+    }
+
+    public LeaderboardPageDTO getPage(int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        long offset = (long) pageNumber * pageSize;
+
+        LeaderboardIndex current = index;
+        List<RankedPlayer> players = current.page(offset, pageSize);
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            entries.add(toDto(players.get(i), offset + i + 1));
+        }
+        return new LeaderboardPageDTO(pageNumber, pageSize, current.size(), entries);
+    }
+
+    /**
+     * Позиция игрока в таблице; null — если он ещё не сыграл ни одной партии
+     */
+    public LeaderboardEntryDTO getPlayerRank(Long playerId) {
+        LeaderboardIndex current = index;
+        RankedPlayer player = current.get(playerId);
+        if (player == null) {
+            return null;
+        }
+        return toDto(player, current.rankOf(playerId));
+    }
+
+    /**
+     * Учитывает партию в индексе; рейтинги уже посчитаны RatingService
+     */
+    private void applyGame(LeaderboardIndex target,
+                           Long p1Id, String p1Nickname, double p1Rating,
+                           Long p2Id, String p2Nickname, double p2Rating,
+                           String result) {
+        RankedPlayer p1 = target.get(p1Id);
+        RankedPlayer p2 = target.get(p2Id);
+
+        boolean draw = result == null || "DRAW".equals(result);
+        boolean p1Won = !draw && result.equals(p1Id.toString());
+        boolean p2Won = !draw && !p1Won;
+
+        target.upsert(new RankedPlayer(p1Id, p1Nickname, p1Rating,
+                (p1 != null ? p1.wins() : 0) + (p1Won ? 1 : 0),
+                (p1 != null ? p1.losses() : 0) + (p2Won ? 1 : 0),
+                (p1 != null ? p1.draws() : 0) + (draw ? 1 : 0)));
+        target.upsert(new RankedPlayer(p2Id, p2Nickname, p2Rating,
+                (p2 != null ? p2.wins() : 0) + (p2Won ? 1 : 0),
+                (p2 != null ? p2.losses() : 0) + (p1Won ? 1 : 0),
+                (p2 != null ? p2.draws() : 0) + (draw ? 1 : 0)));
+    }
+
+    private void applyRating(LeaderboardIndex target, Long playerId, double rating) {
+        RankedPlayer player = target.get(playerId);
+        if (player != null) {
+            target.upsert(new RankedPlayer(playerId, player.nickname(), rating,
+                    player.wins(), player.losses(), player.draws()));
+        }
+    }
+
+    private LeaderboardEntryDTO toDto(RankedPlayer player, long rank) {
+        LeaderboardEntryDTO dto = new LeaderboardEntryDTO();
+        dto.setRank(rank);
+        dto.setPlayerId(player.playerId());
+        dto.setNickname(player.nickname());
+        dto.setRating(player.displayRating());
+        dto.setWins(player.wins());
+        dto.setLosses(player.losses());
+        dto.setDraws(player.draws());
+        dto.setGamesPlayed(player.gamesPlayed());
+        dto.setWinRate(player.winRate());
+        return dto;
+    }
+}
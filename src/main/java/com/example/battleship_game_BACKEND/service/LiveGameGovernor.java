@@ -0,0 +1,167 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.config.SchedulingConfig;
+import com.example.battleship_game_BACKEND.repository.GameRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограничитель памяти живых игр.
+ *
+ * Состояния партий удаляются из InMemoryGameStateService только при завершении,
+ * поэтому брошенные партии накапливались бы до OOM. Раз в sweepIntervalSeconds
+ * губернатор:
+ *  1) вытесняет игры без ходов дольше maxIdleMinutes;
+ *  2) если живых игр больше maxGames — вытесняет самые давно неактивные до уровня maxGames.
+ * Вытесненная игра сохраняется в БД со статусом CANCELLED (без влияния на статистику
+ * и рейтинг), её состояние и часы хода снимаются, игрокам уходит GAME_ENDED с reason=CANCELLED.
+ */
+@Service
+@Slf4j
+public class LiveGameGovernor {
+
+    private static final int UPDATE_CHUNK = 500;
+
+    private final InMemoryGameStateService gameStateService;
+    private final GameRepository gameRepository;
+    private final TurnTimerService turnTimerService;
+    private final PlayerMessagingService playerMessagingService;
+
+    private final int maxGames;
+    private final long maxIdleMillis;
+    private final TaskScheduler taskScheduler;
+    private final Duration sweepInterval;
+    private volatile ScheduledFuture<?> sweepTask;
+    private final AtomicLong evictedGames = new AtomicLong();
+
+    public LiveGameGovernor(InMemoryGameStateService gameStateService,
+                            GameRepository gameRepository,
+                            TurnTimerService turnTimerService,
+                            PlayerMessagingService playerMessagingService,
+                            @Qualifier(SchedulingConfig.APP_SCHEDULER) TaskScheduler taskScheduler,
+                            @Value("${app.live-games.max-games:50000}") int maxGames,
+                            @Value("${app.live-games.max-idle-minutes:30}") long maxIdleMinutes,
+                            @Value("${app.live-games.sweep-interval-seconds:15}") long sweepIntervalSeconds) {
+        this.gameStateService = gameStateService;
+        this.gameRepository = gameRepository;
+        this.turnTimerService = turnTimerService;
+        this.playerMessagingService = playerMessagingService;
+        this.maxGames = maxGames;
+        this.maxIdleMillis = TimeUnit.MINUTES.toMillis(maxIdleMinutes);
+        this.taskScheduler = taskScheduler;
+        this.sweepInterval = Duration.ofSeconds(sweepIntervalSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        sweepTask = taskScheduler.scheduleWithFixedDelay(this::sweep, Instant.now().plus(sweepInterval), sweepInterval);
+    }
+
+    public int getLiveGameCount() {
+        return gameStateService.getLiveGameCount();
+    }
+
+    public long getEstimatedBytes() {
+        return gameStateService.getEstimatedBytes();
+    }
+
+    public long getEvictedGames() {
+        return evictedGames.get();
+    }
+
+    void sweep() {
+        try {
+            long now = System.currentTimeMillis();
+            List<Map.Entry<Long, InMemoryGameStateService.LiveGame>> live = gameStateService.snapshotLiveGames();
+            List<Map.Entry<Long, InMemoryGameStateService.LiveGame>> victims = new ArrayList<>();
+            List<Map.Entry<Long, InMemoryGameStateService.LiveGame>> active = new ArrayList<>(live.size());
+
+            for (Map.Entry<Long, InMemoryGameStateService.LiveGame> entry : live) {
+                if (now - entry.getValue().getLastActivityMillis() > maxIdleMillis) {
+                    victims.add(entry);
+                } else {
+                    active.add(entry);
+                }
+            }
+
+            int overCapacity = active.size() - maxGames;
+            if (overCapacity > 0) {
+                active.sort(Comparator.comparingLong(e -> e.getValue().getLastActivityMillis()));
+                victims.addAll(active.subList(0, overCapacity));
+            }
+
+            if (!victims.isEmpty()) {
+                evict(victims);
+            }
+        } catch (Exception e) {
+            log.error("Ошибка при вытеснении живых игр", e);
+        }
+    }
+
+    private void evict(List<Map.Entry<Long, InMemoryGameStateService.LiveGame>> victims) {
+        List<InMemoryGameStateService.LiveGame> evicted = new ArrayList<>();
+        List<Long> evictedIds = new ArrayList<>();
+        for (Map.Entry<Long, InMemoryGameStateService.LiveGame> entry : victims) {
+            // Игра могла завершиться или сделать ход, пока шёл обход
+            if (gameStateService.removeLiveGame(entry.getKey(), entry.getValue())) {
+                turnTimerService.disarm(entry.getKey());
+                evicted.add(entry.getValue());
+                evictedIds.add(entry.getKey());
+            }
+        }
+        if (evictedIds.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime endDate = LocalDateTime.now();
+        for (int from = 0; from < evictedIds.size(); from += UPDATE_CHUNK) {
+            List<Long> chunk = evictedIds.subList(from, Math.min(from + UPDATE_CHUNK, evictedIds.size()));
+            gameRepository.cancelActiveGames(chunk, endDate);
+        }
+        evictedGames.addAndGet(evictedIds.size());
+        log.warn("Вытеснено живых игр: {}, осталось {}", evictedIds.size(), gameStateService.getLiveGameCount());
+
+        for (int i = 0; i < evicted.size(); i++) {
+            notifyCancelled(evictedIds.get(i), evicted.get(i));
+        }
+    }
+
+    private void notifyCancelled(Long gameId, InMemoryGameStateService.LiveGame game) {
+        Map<String, Object> endNotification = new HashMap<>();
+        endNotification.put("gameId", gameId);
+        endNotification.put("result", null);
+        endNotification.put("action", "GAME_ENDED");
+        endNotification.put("reason", "CANCELLED");
+        endNotification.put("draw", false);
+        endNotification.put("winnerId", null);
+
+        playerMessagingService.sendToPlayer(game.getPlayer1Id(), PlayerMessagingService.GAME_END, endNotification);
+        playerMessagingService.sendToPlayer(game.getPlayer2Id(), PlayerMessagingService.GAME_END, endNotification);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ScheduledFuture<?> task = sweepTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+}
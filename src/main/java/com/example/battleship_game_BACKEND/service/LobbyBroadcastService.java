@@ -0,0 +1,133 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.config.SchedulingConfig;
+import com.example.battleship_game_BACKEND.dto.LobbyUpdateDTO;
+import com.example.battleship_game_BACKEND.dto.PlayerMultiplayerDTO;
+import com.example.battleship_game_BACKEND.security.PlayerPrincipal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Лента лобби /topic/lobby вместо опроса /api/players/all.
+ *
+ * При подписке на /topic/lobby клиент получает снимок списка онлайн-игроков
+ * в /user/queue/lobby, дальше — только изменения (вошёл / вышел / сменил аватар).
+ * Изменения копятся в окне flushIntervalMs и уходят одним кадром; для каждого игрока
+ * в кадре остаётся только последнее изменение, поэтому тысячи одновременных входов
+ * превращаются в несколько кадров независимо от числа зрителей.
+ */
+@Service
+@Slf4j
+public class LobbyBroadcastService {
+
+    public static final String LOBBY_TOPIC = "/topic/lobby";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PlayerMessagingService playerMessagingService;
+    private final PresenceService presenceService;
+
+    /** Последнее изменение по каждому игроку в текущем окне */
+    private final Map<Long, PresenceChangedEvent> pendingChanges = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final TaskScheduler taskScheduler;
+    private final Duration flushInterval;
+    private volatile ScheduledFuture<?> flushTask;
+
+    public LobbyBroadcastService(SimpMessagingTemplate messagingTemplate,
+                                 PlayerMessagingService playerMessagingService,
+                                 PresenceService presenceService,
+                                 @Qualifier(SchedulingConfig.APP_SCHEDULER) TaskScheduler taskScheduler,
+                                 @Value("${app.lobby.flush-interval-ms:250}") long flushIntervalMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.playerMessagingService = playerMessagingService;
+        this.presenceService = presenceService;
+        this.taskScheduler = taskScheduler;
+        this.flushInterval = Duration.ofMillis(flushIntervalMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        flushTask = taskScheduler.scheduleWithFixedDelay(this::flush, Instant.now().plus(flushInterval), flushInterval);
+    }
+
+    @EventListener
+    public void onPresenceChanged(PresenceChangedEvent event) {
+        pendingChanges.put(event.player().getPlayerId(), event);
+    }
+
+    /**
+     * Новому подписчику ленты отправляем снимок с текущей версией
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (!LOBBY_TOPIC.equals(accessor.getDestination())) {
+            return;
+        }
+        if (!(event.getUser() instanceof PlayerPrincipal principal)) {
+            return;
+        }
+
+        LobbyUpdateDTO snapshot = new LobbyUpdateDTO();
+        snapshot.setType("SNAPSHOT");
+        snapshot.setVersion(version.get());
+        snapshot.setPlayers(presenceService.getOnlinePlayers());
+
+        playerMessagingService.sendToPlayer(principal.getPlayerId(), PlayerMessagingService.LOBBY, snapshot);
+    }
+
+    void flush() {
+        try {
+            if (pendingChanges.isEmpty()) {
+                return;
+            }
+
+            LobbyUpdateDTO diff = new LobbyUpdateDTO();
+            diff.setType("DIFF");
+            for (Long playerId : pendingChanges.keySet()) {
+                PresenceChangedEvent change = pendingChanges.remove(playerId);
+                if (change == null) {
+                    continue;
+                }
+                PlayerMultiplayerDTO player = change.player();
+                switch (change.type()) {
+                    case JOINED -> diff.getJoined().add(player);
+                    case UPDATED -> diff.getUpdated().add(player);
+                    case LEFT -> diff.getLeft().add(playerId);
+                }
+            }
+
+            if (diff.getJoined().isEmpty() && diff.getUpdated().isEmpty() && diff.getLeft().isEmpty()) {
+                return;
+            }
+            diff.setVersion(version.incrementAndGet());
+            messagingTemplate.convertAndSend(LOBBY_TOPIC, diff);
+        } catch (Exception e) {
+            log.error("Ошибка при рассылке обновлений лобби", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ScheduledFuture<?> task = flushTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+}
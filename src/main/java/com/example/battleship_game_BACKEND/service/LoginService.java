@@ -0,0 +1,189 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.dto.JwtResponse;
+import com.example.battleship_game_BACKEND.dto.LoginRequest;
+import com.example.battleship_game_BACKEND.model.Player;
+import com.example.battleship_game_BACKEND.repository.PlayerRepository;
+import com.example.battleship_game_BACKEND.security.JwtTokenUtil;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Вход в систему с проверкой пароля на отдельном ограниченном пуле потоков.
+ *
+ * BCrypt намеренно медленный, поэтому при «шторме» логинов он не должен занимать
+ * потоки Tomcat. Сама проверка идёт через AuthenticationManager (DaoAuthenticationProvider
+ * с CustomUserDetailsService): он проверяет статус учётной записи, публикует события
+ * аутентификации и выравнивает время ответа для несуществующих никнеймов. Пул имеет ограниченную очередь (переполнение → 503), а число
+ * одновременных попыток входа ограничено по IP и по никнейму (превышение → 429).
+ */
+@Service
+public class LoginService {
+
+    private final PlayerRepository playerRepository;
+    private final AuthenticationManager authenticationManager;
+    private final JwtTokenUtil jwtTokenUtil;
+    private final PlayerCacheService playerCacheService;
+
+    private final ThreadPoolExecutor bcryptExecutor;
+    private final int maxPerIp;
+    private final int maxPerNickname;
+
+    private final ConcurrentHashMap<String, Integer> inFlightByIp = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> inFlightByNickname = new ConcurrentHashMap<>();
+    private final AtomicLong throttledLogins = new AtomicLong();
+    private final AtomicLong rejectedLogins = new AtomicLong();
+
+    public LoginService(PlayerRepository playerRepository,
+                        AuthenticationManager authenticationManager,
+                        JwtTokenUtil jwtTokenUtil,
+                        PlayerCacheService playerCacheService,
+                        @Value("${app.login.bcrypt-threads:0}") int bcryptThreads,
+                        @Value("${app.login.queue-capacity:256}") int queueCapacity,
+                        @Value("${app.login.max-concurrent-per-ip:4}") int maxPerIp,
+                        @Value("${app.login.max-concurrent-per-nickname:2}") int maxPerNickname) {
+        this.playerRepository = playerRepository;
+        this.authenticationManager = authenticationManager;
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.playerCacheService = playerCacheService;
+        this.maxPerIp = maxPerIp;
+        this.maxPerNickname = maxPerNickname;
+
+        int threads = bcryptThreads > 0 ? bcryptThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.bcryptExecutor = new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Попытка входа отклонена лимитом одновременных запросов */
+    public static class LoginThrottledException extends RuntimeException {
+        public LoginThrottledException(String message) {
+            super(message);
+        }
+    }
+
+    /** Пул проверки паролей переполнен */
+    public static class LoginOverloadedException extends RuntimeException {
+        public LoginOverloadedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Асинхронный вход: поиск игрока, проверка пароля и отметка «онлайн»
+     * выполняются на bcrypt-пуле, поток запроса освобождается сразу
+     */
+    public CompletableFuture<JwtResponse> login(LoginRequest request, String clientIp) {
+        String nickname = request.getNickname() != null ? request.getNickname() : "";
+        String ip = clientIp != null ? clientIp : "unknown";
+
+        if (!tryAcquire(inFlightByIp, ip, maxPerIp)) {
+            throttledLogins.incrementAndGet();
+            return CompletableFuture.failedFuture(
+                    new LoginThrottledException("Слишком много одновременных попыток входа"));
+        }
+        if (!tryAcquire(inFlightByNickname, nickname, maxPerNickname)) {
+            release(inFlightByIp, ip);
+            throttledLogins.incrementAndGet();
+            return CompletableFuture.failedFuture(
+                    new LoginThrottledException("Слишком много одновременных попыток входа"));
+        }
+
+        CompletableFuture<JwtResponse> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> authenticate(nickname, request.getPassword()), bcryptExecutor);
+        } catch (RejectedExecutionException e) {
+            rejectedLogins.incrementAndGet();
+            result = CompletableFuture.failedFuture(
+                    new LoginOverloadedException("Сервер перегружен, попробуйте войти позже"));
+        }
+
+        return result.whenComplete((response, error) -> {
+            release(inFlightByNickname, nickname);
+            release(inFlightByIp, ip);
+        });
+    }
+
+    private JwtResponse authenticate(String nickname, String rawPassword) {
+        String password = rawPassword != null ? rawPassword : "";
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(nickname, password));
+        Player player = (Player) authentication.getPrincipal();
+
+        // Один UPDATE вместо повторного findByNickname + save; снимок в кэше устарел
+        playerRepository.updateStatus(player.getPlayerId(), true);
+        playerCacheService.evict(player.getPlayerId());
+
+        String jwt = jwtTokenUtil.generateToken(player);
+        return new JwtResponse(
+                jwt, "Bearer",
+                player.getPlayerId(),
+                player.getNickname(),
+                player.getAvatarUrl() != null ? player.getAvatarUrl() : Player.DEFAULT_AVATAR
+        );
+    }
+
+    private boolean tryAcquire(ConcurrentHashMap<String, Integer> inFlight, String key, int limit) {
+        AtomicBoolean acquired = new AtomicBoolean(false);
+        inFlight.compute(key, (k, current) -> {
+            int count = current == null ? 0 : current;
+            if (count >= limit) {
+                return current;
+            }
+            acquired.set(true);
+            return count + 1;
+        });
+        return acquired.get();
+    }
+
+    private void release(ConcurrentHashMap<String, Integer> inFlight, String key) {
+        inFlight.computeIfPresent(key, (k, count) -> count <= 1 ? null : count - 1);
+    }
+
+    // ===============================================================================
+    // Показатели пула
+    // ===============================================================================
+
+    public int getQueueDepth() {
+        return bcryptExecutor.getQueue().size();
+    }
+
+    public int getActiveHashes() {
+        return bcryptExecutor.getActiveCount();
+    }
+
+    public long getThrottledLogins() {
+        return throttledLogins.get();
+    }
+
+    public long getRejectedLogins() {
+        return rejectedLogins.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        bcryptExecutor.shutdown();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.dto.MatchHistoryEntryDTO;
+import com.example.battleship_game_BACKEND.dto.MatchHistoryPageDTO;
+import com.example.battleship_game_BACKEND.model.GameStatus;
+import com.example.battleship_game_BACKEND.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * История завершённых партий игрока с keyset-пагинацией по (endDate, gameId).
+ *
+ * Игрок может быть и первым, и вторым участником, а OR по двум колонкам не ложится
+ * на индекс, поэтому стороны читаются двумя запросами по своим индексам — каждый
+ * не больше size + 1 строк — и сливаются в памяти. Страница стоит O(size)
+ * независимо от того, сколько партий у игрока и насколько глубоко листают.
+ */
+@Service
+@RequiredArgsConstructor
+public class MatchHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /** Курсор первой страницы: позже любой реальной даты завершения */
+    private static final LocalDateTime FIRST_PAGE_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final Comparator<GameRepository.GameHistoryRow> NEWEST_FIRST =
+            Comparator.comparing(GameRepository.GameHistoryRow::getEndDate)
+                    .thenComparing(GameRepository.GameHistoryRow::getGameId)
+                    .reversed();
+
+    private final GameRepository gameRepository;
+
+    @Transactional(readOnly = true)
+    public MatchHistoryPageDTO getHistory(Long playerId, LocalDateTime beforeEndDate, Long beforeGameId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime beforeEnd = beforeEndDate != null ? beforeEndDate : FIRST_PAGE_END;
+        Long beforeId = beforeGameId != null ? beforeGameId : Long.MAX_VALUE;
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<GameRepository.GameHistoryRow> rows = new ArrayList<>(2 * (pageSize + 1));
+        rows.addAll(gameRepository.findHistoryAsPlayer1(playerId, beforeEnd, beforeId, limit));
+        rows.addAll(gameRepository.findHistoryAsPlayer2(playerId, beforeEnd, beforeId, limit));
+        rows.sort(NEWEST_FIRST);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<GameRepository.GameHistoryRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<MatchHistoryEntryDTO> entries = new ArrayList<>(page.size());
+        for (GameRepository.GameHistoryRow row : page) {
+            entries.add(toDto(row, playerId));
+        }
+
+        GameRepository.GameHistoryRow last = hasMore ? page.get(page.size() - 1) : null;
+        return new MatchHistoryPageDTO(
+                playerId,
+                pageSize,
+                hasMore,
+                last != null ? last.getEndDate() : null,
+                last != null ? last.getGameId() : null,
+                entries
+        );
+    }
+
+    private MatchHistoryEntryDTO toDto(GameRepository.GameHistoryRow row, Long playerId) {
+        boolean isPlayer1 = playerId.equals(row.getPlayer1Id());
+
+        MatchHistoryEntryDTO dto = new MatchHistoryEntryDTO();
+        dto.setGameId(row.getGameId());
+        dto.setOpponentId(isPlayer1 ? row.getPlayer2Id() : row.getPlayer1Id());
+        dto.setOpponentNickname(isPlayer1 ? row.getPlayer2Nickname() : row.getPlayer1Nickname());
+        dto.setOutcome(outcome(row, playerId));
+        dto.setGameType(row.getGameType());
+        dto.setStartDate(row.getStartDate());
+        dto.setEndDate(row.getEndDate());
+        return dto;
+    }
+
+    private String outcome(GameRepository.GameHistoryRow row, Long playerId) {
+        if (row.getGameStatus() == GameStatus.CANCELLED || row.getResult() == null) {
+            return "CANCELLED";
+        }
+        if ("DRAW".equals(row.getResult())) {
+            return "DRAW";
+        }
+        return playerId.toString().equals(row.getResult()) ? "WIN" : "LOSS";
+    }
+}
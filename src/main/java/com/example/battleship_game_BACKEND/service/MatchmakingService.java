@@ -0,0 +1,147 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.config.SchedulingConfig;
+import com.example.battleship_game_BACKEND.dto.GameStartNotification;
+import com.example.battleship_game_BACKEND.dto.MatchmakingStatusDTO;
+import com.example.battleship_game_BACKEND.dto.PlayerCard;
+import com.example.battleship_game_BACKEND.matchmaking.MatchQueue;
+import com.example.battleship_game_BACKEND.matchmaking.MatchTicket;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Автоматический подбор соперника по рейтингу.
+ *
+ * Игрок встаёт в очередь через /app/matchmaking.join, подборщик раз в intervalMs
+ * собирает пары и отправляет обоим обычный GameStartNotification в /user/queue/game.start —
+ * дальше клиенты идут тем же путём, что и после принятого приглашения (game.ready).
+ * Допуск по рейтингу: сначала только своя полоса, затем +1 полоса каждые widenEveryMs
+ * ожидания, но не больше maxBandSpread.
+ */
+@Service
+@Slf4j
+public class MatchmakingService {
+
+    private final PlayerCardService playerCardService;
+    private final RatingService ratingService;
+    private final PlayerMessagingService playerMessagingService;
+
+    private final MatchQueue queue;
+    private final long widenEveryMs;
+    private final int maxBandSpread;
+    private final TaskScheduler taskScheduler;
+    private final Duration interval;
+    private volatile ScheduledFuture<?> matchTask;
+
+    public MatchmakingService(PlayerCardService playerCardService,
+                              RatingService ratingService,
+                              PlayerMessagingService playerMessagingService,
+                              @Qualifier(SchedulingConfig.APP_SCHEDULER) TaskScheduler taskScheduler,
+                              @Value("${app.matchmaking.band-width:100}") int bandWidth,
+                              @Value("${app.matchmaking.interval-ms:500}") long intervalMs,
+                              @Value("${app.matchmaking.widen-every-ms:5000}") long widenEveryMs,
+                              @Value("${app.matchmaking.max-band-spread:5}") int maxBandSpread) {
+        this.playerCardService = playerCardService;
+        this.ratingService = ratingService;
+        this.playerMessagingService = playerMessagingService;
+        this.queue = new MatchQueue(bandWidth);
+        this.widenEveryMs = widenEveryMs;
+        this.maxBandSpread = maxBandSpread;
+        this.taskScheduler = taskScheduler;
+        this.interval = Duration.ofMillis(intervalMs);
+    }
+
+    /**
+     * Запускает подборщик. Задача с фиксированной задержкой не пересекается сама с собой,
+     * поэтому matchRound по-прежнему выполняется строго по одному
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        matchTask = taskScheduler.scheduleWithFixedDelay(this::matchRound, Instant.now().plus(interval), interval);
+    }
+
+    public void join(Long playerId) {
+        PlayerCard card = playerCardService.getCard(playerId);
+        int rating = card.rating();
+
+        MatchTicket ticket = new MatchTicket(playerId, card.nickname(), card.avatarUrl(), rating, System.currentTimeMillis());
+        boolean added = queue.enqueue(ticket);
+        sendStatus(playerId, added ? "QUEUED" : "ALREADY_QUEUED", rating);
+    }
+
+    public void leave(Long playerId) {
+        if (queue.cancel(playerId)) {
+            sendStatus(playerId, "CANCELLED", ratingService.getDisplayRating(playerId));
+        }
+    }
+
+    public boolean isQueued(Long playerId) {
+        return queue.contains(playerId);
+    }
+
+    public int getWaitingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Игрок, закрывший все вкладки, не должен получить соперника
+     */
+    @EventListener
+    public void onPresenceChanged(PresenceChangedEvent event) {
+        if (event.type() == PresenceChangedEvent.Type.LEFT) {
+            queue.cancel(event.player().getPlayerId());
+        }
+    }
+
+    void matchRound() {
+        try {
+            List<MatchTicket[]> pairs = queue.matchRound(System.currentTimeMillis(), widenEveryMs, maxBandSpread);
+            for (MatchTicket[] pair : pairs) {
+                notifyMatched(pair[0], pair[1]);
+                notifyMatched(pair[1], pair[0]);
+            }
+        } catch (Exception e) {
+            log.error("Ошибка подбора соперников", e);
+        }
+    }
+
+    private void notifyMatched(MatchTicket self, MatchTicket opponent) {
+        sendStatus(self.getPlayerId(), "MATCHED", self.getRating());
+
+        GameStartNotification notification = new GameStartNotification();
+        notification.setGameId(null);
+        notification.setOpponentId(opponent.getPlayerId());
+        notification.setOpponentNickname(opponent.getNickname());
+        notification.setOpponentAvatarUrl(opponent.getAvatarUrl());
+        notification.setOpponentRating(opponent.getRating());
+
+        playerMessagingService.sendToPlayer(self.getPlayerId(), PlayerMessagingService.GAME_START, notification);
+    }
+
+    private void sendStatus(Long playerId, String status, int rating) {
+        playerMessagingService.sendToPlayer(
+                playerId,
+                PlayerMessagingService.MATCHMAKING,
+                new MatchmakingStatusDTO(status, rating, queue.size())
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ScheduledFuture<?> task = matchTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+}
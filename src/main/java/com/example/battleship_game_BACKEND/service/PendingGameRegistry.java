@@ -0,0 +1,120 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.config.SchedulingConfig;
+import com.example.battleship_game_BACKEND.dto.PendingGame;
+import com.example.battleship_game_BACKEND.timer.HashedWheelTimer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Пары игроков, ожидающие второго game.ready.
+ *
+ * Ключ пары — long, в котором упакованы оба id (меньший в старших 32 битах),
+ * поэтому на каждом game.ready не строится строка "min-max".
+ * Если второй игрок не прислал расстановку за ttlSeconds, запись удаляется
+ * по таймеру-колесу, а обоим игрокам уходит уведомление в /user/queue/game.timeout —
+ * брошенные рукопожатия больше не держат в памяти матрицы досок.
+ */
+@Service
+@Slf4j
+public class PendingGameRegistry {
+
+    private final PlayerMessagingService playerMessagingService;
+    private final long ttlMillis;
+    private final HashedWheelTimer timer;
+
+    private final Map<Long, PendingGame> pendingGames = new ConcurrentHashMap<>();
+
+    public PendingGameRegistry(PlayerMessagingService playerMessagingService,
+                               @Qualifier(SchedulingConfig.APP_SCHEDULER) TaskScheduler taskScheduler,
+                               @Value("${app.pending-games.ttl-seconds:120}") long ttlSeconds) {
+        this.playerMessagingService = playerMessagingService;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.timer = new HashedWheelTimer("pending-game-timer", taskScheduler, 1000, 256);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        timer.start();
+    }
+
+    /**
+     * Упаковывает пару id в ключ, не зависящий от порядка игроков
+     */
+    public static long key(Long a, Long b) {
+        long min = Math.min(a, b);
+        long max = Math.max(a, b);
+        if (min < 0 || max > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Player id out of range for pair key: " + a + ", " + b);
+        }
+        return (min << 32) | max;
+    }
+
+    /**
+     * Атомарно изменяет запись пары (как ConcurrentHashMap.compute).
+     * Новая запись получает срок ожидания; повторный game.ready того же игрока срок не продлевает.
+     */
+    public PendingGame compute(long key, BiFunction<Long, PendingGame, PendingGame> remapping) {
+        long now = System.currentTimeMillis();
+        PendingGame[] created = new PendingGame[1];
+
+        PendingGame result = pendingGames.compute(key, (k, existing) -> {
+            PendingGame updated = remapping.apply(k, existing);
+            if (updated != null && updated.getExpiresAtMillis() == 0) {
+                updated.setExpiresAtMillis(now + ttlMillis);
+                created[0] = updated;
+            }
+            return updated;
+        });
+
+        if (created[0] != null) {
+            PendingGame pg = created[0];
+            timer.schedule(() -> expire(key, pg), ttlMillis);
+        }
+        return result;
+    }
+
+    public int size() {
+        return pendingGames.size();
+    }
+
+    public int getScheduledTimeouts() {
+        return timer.getPendingCount();
+    }
+
+    private void expire(long key, PendingGame pg) {
+        if (!pendingGames.remove(key, pg)) {
+            return; // игра уже стартовала
+        }
+
+        Long waitingId = pg.getPlayer1Id();
+        long high = key >>> 32;
+        long low = key & 0xFFFFFFFFL;
+        Long opponentId = waitingId == high ? low : high;
+        log.info("GameReady: истекло ожидание игрока {} для пары {}-{}", opponentId, high, low);
+
+        Map<String, Object> timeout = new HashMap<>();
+        timeout.put("action", "READY_TIMEOUT");
+        timeout.put("waitingPlayerId", waitingId);
+        timeout.put("opponentId", opponentId);
+
+        playerMessagingService.sendToPlayer(waitingId, PlayerMessagingService.GAME_READY_TIMEOUT, timeout);
+        playerMessagingService.sendToPlayer(opponentId, PlayerMessagingService.GAME_READY_TIMEOUT, timeout);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.stop();
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.battleship_game_BACKEND.service;
 
 import com.example.battleship_game_BACKEND.dto.*;
+import com.example.battleship_game_BACKEND.metrics.GameMetrics;
 import com.example.battleship_game_BACKEND.model.ShipPlacement;
 import com.example.battleship_game_BACKEND.placement.BasePlacementStrategy;
 import com.example.battleship_game_BACKEND.repository.PlacementStrategyRepository;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,15 +15,19 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 public class PlacementService {
 
     private final Map<String, BasePlacementStrategy> strategies;
     @Getter
     private final PlacementStrategyRepository repository;
+    private final GameMetrics gameMetrics;
 
     public PlacementService(List<BasePlacementStrategy> strategyList,
-                            PlacementStrategyRepository repository) {
+                            PlacementStrategyRepository repository,
+                            GameMetrics gameMetrics) {
         this.repository = repository;
+        this.gameMetrics = gameMetrics;
         this.strategies = strategyList.stream()
                 .collect(Collectors.toMap(
                         strategy -> {
@@ -45,7 +51,9 @@ public class PlacementService {
             }
 
             // Генерируем расстановку
+            long started = System.nanoTime();
             List<ShipPlacement> serverPlacements = strategy.generatePlacement();
+            gameMetrics.recordAiThink(strategy.getClass().getSimpleName(), System.nanoTime() - started);
             List<ShipPlacementDto> placements = convertToDto(serverPlacements);
 
             // Сохраняем если нужно
@@ -67,9 +75,8 @@ public class PlacementService {
     public void saveUserPlacement(SavePlacementRequest request) {
         // TODO: Реализовать сохранение пользовательской расстановки
         // Пока заглушка - можно сохранять в базу или кеш
-        System.out.println("Сохранение расстановки для пользователя: " + request.userId());
-        System.out.println("Название: " + request.placementName());
-        System.out.println("Корабли: " + request.ships().size());
+        log.info("Сохранение расстановки для пользователя {}: название={}, кораблей={}",
+                request.userId(), request.placementName(), request.ships().size());
     }
 
     public List<UserPlacementResponse> getUserPlacements(String userId) {
@@ -0,0 +1,60 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.config.CacheConfig;
+import com.example.battleship_game_BACKEND.model.Player;
+import com.example.battleship_game_BACKEND.model.PlayerSnapshot;
+import com.example.battleship_game_BACKEND.repository.PlayerRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Короткоживущий кэш игроков для эндпоинтов, которым нужна строка player (профиль).
+ *
+ * Хранит неизменяемые PlayerSnapshot без хеша пароля, а не сущности: общий экземпляр нельзя
+ * случайно изменить из другого потока. Любая запись в player (аватар, статус онлайн)
+ * должна заканчиваться put или evict.
+ */
+@Service
+public class PlayerCacheService {
+
+    private final PlayerRepository playerRepository;
+    private final Cache players;
+
+    public PlayerCacheService(PlayerRepository playerRepository, CacheManager cacheManager) {
+        this.playerRepository = playerRepository;
+        this.players = cacheManager.getCache(CacheConfig.PLAYERS);
+    }
+
+    /**
+     * Возвращает игрока из кэша или загружает его из БД
+     */
+    public PlayerSnapshot getById(Long playerId) {
+        PlayerSnapshot cached = players.get(playerId, PlayerSnapshot.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        Player player = playerRepository.findById(playerId)
+                .orElseThrow(() -> new RuntimeException("Player not found with id: " + playerId));
+        PlayerSnapshot snapshot = PlayerSnapshot.of(player);
+        players.put(playerId, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Кладёт в кэш актуальную (только что сохранённую) версию игрока
+     */
+    public void put(Player player) {
+        if (player == null || player.getPlayerId() == null) {
+            return;
+        }
+        players.put(player.getPlayerId(), PlayerSnapshot.of(player));
+    }
+
+    public void evict(Long playerId) {
+        if (playerId != null) {
+            players.evict(playerId);
+        }
+    }
+}
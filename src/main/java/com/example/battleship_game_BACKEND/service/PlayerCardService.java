@@ -0,0 +1,79 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.config.CacheConfig;
+import com.example.battleship_game_BACKEND.dto.PlayerCard;
+import com.example.battleship_game_BACKEND.model.Player;
+import com.example.battleship_game_BACKEND.repository.PlayerRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+/**
+ * Кэш карточек игроков (никнейм и аватар) для приглашений и уведомлений.
+ *
+ * Никнейм не меняется, аватар меняется только через PlayerService.updateAvatar,
+ * поэтому срок жизни не нужен: запись обновляется при смене аватара и при регистрации.
+ * Промах загружает только три колонки (PlayerRepository.findCardById), рейтинг
+ * берётся из RatingService на момент чтения. Размер ограничивает Caffeine
+ * (кэш playerCards в CacheConfig).
+ */
+@Service
+public class PlayerCardService {
+
+    private final PlayerRepository playerRepository;
+    private final RatingService ratingService;
+    private final Cache cards;
+
+    private record Card(String nickname, String avatarUrl) {
+    }
+
+    public PlayerCardService(PlayerRepository playerRepository, RatingService ratingService,
+                             CacheManager cacheManager) {
+        this.playerRepository = playerRepository;
+        this.ratingService = ratingService;
+        this.cards = cacheManager.getCache(CacheConfig.PLAYER_CARDS);
+    }
+
+    public PlayerCard getCard(Long playerId) {
+        Card card = cards.get(playerId, Card.class);
+        if (card == null) {
+            PlayerRepository.PlayerCardView view = playerRepository.findCardById(playerId)
+                    .orElseThrow(() -> new RuntimeException("Player not found with id: " + playerId));
+            card = toCard(view.getNickname(), view.getAvatarUrl());
+            // Загрузка не перетирает запись, которую успела положить смена аватара
+            Cache.ValueWrapper existing = cards.putIfAbsent(playerId, card);
+            if (existing != null && existing.get() instanceof Card cached) {
+                card = cached;
+            }
+        }
+        return new PlayerCard(playerId, card.nickname(), card.avatarUrl(), ratingService.getDisplayRating(playerId));
+    }
+
+    /**
+     * Кладёт актуальные данные только что сохранённого игрока (регистрация, смена аватара)
+     */
+    public void put(Player player) {
+        if (player == null || player.getPlayerId() == null) {
+            return;
+        }
+        cards.put(player.getPlayerId(), toCard(player.getNickname(), player.getAvatarUrl()));
+    }
+
+    public void evict(Long playerId) {
+        if (playerId != null) {
+            cards.evict(playerId);
+        }
+    }
+
+    public long size() {
+        if (cards instanceof CaffeineCache caffeine) {
+            return caffeine.getNativeCache().estimatedSize();
+        }
+        return 0;
+    }
+
+    private static Card toCard(String nickname, String avatarUrl) {
+        return new Card(nickname, avatarUrl != null ? avatarUrl : Player.DEFAULT_AVATAR);
+    }
+}
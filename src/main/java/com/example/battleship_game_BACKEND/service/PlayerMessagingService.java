@@ -0,0 +1,71 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Отправка персональных STOMP-сообщений игрокам через user-destinations.
+ * Клиент подписывается на /user/queue/..., брокер доставляет сообщение
+ * в сессии игрока, не перебирая все подписки на /queue.
+ */
+@Service
+@RequiredArgsConstructor
+public class PlayerMessagingService {
+
+    public static final String INVITATIONS = "/queue/invitations";
+    public static final String GAME_START = "/queue/game.start";
+    public static final String GAME_REJECTED = "/queue/game.rejected";
+    public static final String GAME_STATE = "/queue/game.state";
+    public static final String GAME_ERROR = "/queue/game.error";
+    public static final String GAME_END = "/queue/game.end";
+    public static final String GAME_DRAW = "/queue/game.draw";
+    public static final String GAME_READY_TIMEOUT = "/queue/game.timeout";
+    public static final String LOBBY = "/queue/lobby";
+    public static final String MATCHMAKING = "/queue/matchmaking";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public void sendToPlayer(Long playerId, String destination, Object payload) {
+        messagingTemplate.convertAndSendToUser(String.valueOf(playerId), destination, payload);
+    }
+
+    /**
+     * Уведомление об окончании игры обоим игрокам
+     *
+     * @param result итог партии: ID победителя, "DRAW" или null
+     * @param reason причина досрочного завершения (например, TIMEOUT) или null
+     */
+    public void sendGameEnd(GameRepository.MatchHeader game, String result, String reason) {
+        Map<String, Object> endNotification = new HashMap<>();
+        endNotification.put("gameId", game.getGameId());
+        endNotification.put("result", result); // Здесь лежит либо ID, либо "DRAW"
+        endNotification.put("action", "GAME_ENDED");
+        if (reason != null) {
+            endNotification.put("reason", reason);
+        }
+
+        // Новая логика определения победителя на основе ID
+        if ("DRAW".equals(result)) {
+            endNotification.put("draw", true);
+            endNotification.put("winnerId", null);
+        } else {
+            endNotification.put("draw", false);
+            try {
+                // Если в result лежит ID, парсим его и отправляем как winnerId
+                Long winnerId = Long.parseLong(result);
+                endNotification.put("winnerId", winnerId);
+            } catch (NumberFormatException e) {
+                // На всякий случай, если там оказался старый текст или null
+                endNotification.put("winnerId", null);
+            }
+        }
+
+        sendToPlayer(game.getPlayer1Id(), GAME_END, endNotification);
+        sendToPlayer(game.getPlayer2Id(), GAME_END, endNotification);
+    }
+}
@@ -1,14 +1,15 @@
 package com.example.battleship_game_BACKEND.service;
 
+import com.example.battleship_game_BACKEND.dto.PlayerMultiplayerDTO;
 import com.example.battleship_game_BACKEND.dto.PlayerProfileDTO;
 import com.example.battleship_game_BACKEND.dto.UserDTO;
-import com.example.battleship_game_BACKEND.model.Game;
-import com.example.battleship_game_BACKEND.model.GameStatus;
 import com.example.battleship_game_BACKEND.model.Player;
-import com.example.battleship_game_BACKEND.repository.GameRepository;
+import com.example.battleship_game_BACKEND.model.PlayerSnapshot;
+import com.example.battleship_game_BACKEND.model.PlayerStats;
 import com.example.battleship_game_BACKEND.repository.PlayerRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,14 +18,20 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class PlayerService {
     private final PlayerRepository playerRepository;
-    private final GameRepository gameRepository;
+    private final PlayerCacheService playerCacheService;
+    private final PlayerCardService playerCardService;
+    private final PresenceService presenceService;
+    private final PlayerStatsService playerStatsService;
+    private final RatingService ratingService;
 
     public Player createPlayer(Player player) {
         // Устанавливаем аватар по умолчанию при создании
         if (player.getAvatarUrl() == null) {
             player.setAvatarUrl(Player.DEFAULT_AVATAR);
         }
-        return playerRepository.save(player);
+        Player saved = playerRepository.save(player);
+        playerCardService.put(saved);
+        return saved;
     }
 
     public Optional<Player> getPlayerByNickname(String nickname) {
@@ -46,7 +53,11 @@ public class PlayerService {
         // Проверяем, что аватар из списка допустимых
         if (isValidAvatar(avatarFileName)) {
             player.setAvatarUrl(avatarFileName);
-            return playerRepository.save(player);
+            Player saved = playerRepository.save(player);
+            playerCacheService.put(saved);
+            playerCardService.put(saved);
+            presenceService.updateAvatar(playerId, avatarFileName);
+            return saved;
         } else {
             throw new RuntimeException("Invalid avatar filename: " + avatarFileName);
         }
@@ -69,41 +80,36 @@ public class PlayerService {
         return playerRepository.save(player);
     }
 
-    public List<Player> getOnlinePlayers() {
-        return playerRepository.findByStatus(true); // ← JPA-метод
+    public List<PlayerMultiplayerDTO> getOnlinePlayers() {
+        return presenceService.getOnlinePlayers(); // ← реестр STOMP-сессий в памяти
     }
 
-    public PlayerProfileDTO getPlayerProfileWithStats(Player player) {
-        Long pid = player.getPlayerId();
-
-        // Получаем все завершенные игры
-        List<Game> games = gameRepository.findByPlayer1PlayerIdOrPlayer2PlayerId(pid, pid)
-                .stream()
-                .filter(g -> g.getGameStatus() == GameStatus.COMPLETED)
-                .toList();
-
-        int total = games.size();
+    public PlayerSnapshot getPlayerById(Long playerId) {
+        return playerCacheService.getById(playerId);
+    }
 
-        // Считаем победы (где result == string ID игрока)
-        int wins = (int) games.stream()
-                .filter(g -> g.getResult() != null && g.getResult().equals(pid.toString()))
-                .count();
+    /** Профиль читается с реплики, если она настроена: статистика может отставать на доли секунды */
+    @Transactional(readOnly = true)
+    public PlayerProfileDTO getPlayerProfileWithStats(PlayerSnapshot player) {
+        Long pid = player.playerId();
 
-        // Считаем поражения (результат не ничья и не наш ID)
-        int losses = (int) games.stream()
-                .filter(g -> g.getResult() != null
-                        && !g.getResult().equals("DRAW")
-                        && !g.getResult().equals(pid.toString()))
-                .count();
+        // Агрегат player_stats — одно чтение по первичному ключу
+        PlayerStats stats = playerStatsService.getStats(pid);
 
         // Собираем DTO
         PlayerProfileDTO profile = new PlayerProfileDTO();
         profile.setPlayerId(pid);
-        profile.setNickname(player.getNickname());
-        profile.setAvatarUrl(player.getAvatarUrl());
-        profile.setTotalGames(total);
-        profile.setWins(wins);
-        profile.setLosses(losses);
+        profile.setNickname(player.nickname());
+        profile.setAvatarUrl(player.avatarUrl());
+        profile.setRating(ratingService.getDisplayRating(pid));
+        profile.setTotalGames(stats.getGamesPlayed());
+        profile.setWins(stats.getWins());
+        profile.setLosses(stats.getLosses());
+        profile.setDraws(stats.getDraws());
+        profile.setShotsFired(stats.getShotsFired());
+        profile.setHits(stats.getHits());
+        profile.setCurrentWinStreak(stats.getCurrentWinStreak());
+        profile.setBestWinStreak(stats.getBestWinStreak());
 
         return profile;
     }
@@ -0,0 +1,124 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.dto.GameStateDTO;
+import com.example.battleship_game_BACKEND.model.GameStatus;
+import com.example.battleship_game_BACKEND.model.PlayerStats;
+import com.example.battleship_game_BACKEND.repository.GameRepository;
+import com.example.battleship_game_BACKEND.repository.PlayerStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlayerStatsService {
+
+    private static final int BACKFILL_PAGE_SIZE = 500;
+
+    private final PlayerStatsRepository playerStatsRepository;
+    private final GameRepository gameRepository;
+
+    @Value("${app.stats.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    /**
+     * Статистика игрока одним чтением по первичному ключу
+     */
+    @Transactional(readOnly = true)
+    public PlayerStats getStats(Long playerId) {
+        return playerStatsRepository.findById(playerId)
+                .orElseGet(() -> emptyStats(playerId));
+    }
+
+    /**
+     * Учитывает завершённую партию для обоих игроков.
+     * Вызывается в транзакции завершения игры (GameCompletionService).
+     *
+     * @param state состояние из памяти для счётчиков выстрелов; может быть null
+     */
+    @Transactional
+    public void recordGameResult(Long p1, Long p2, String result, GameStateDTO state) {
+
+        int p1Shots = state != null && state.getPlayer1ShotsFired() != null ? state.getPlayer1ShotsFired() : 0;
+        int p1Hits = state != null && state.getPlayer1HitsCount() != null ? state.getPlayer1HitsCount() : 0;
+        int p2Shots = state != null && state.getPlayer2ShotsFired() != null ? state.getPlayer2ShotsFired() : 0;
+        int p2Hits = state != null && state.getPlayer2HitsCount() != null ? state.getPlayer2HitsCount() : 0;
+
+        // Блокируем строки в одном порядке, чтобы параллельные партии не взаимоблокировались
+        if (p1 < p2) {
+            applyResult(p1, result, p1Shots, p1Hits);
+            applyResult(p2, result, p2Shots, p2Hits);
+        } else {
+            applyResult(p2, result, p2Shots, p2Hits);
+            applyResult(p1, result, p1Shots, p1Hits);
+        }
+    }
+
+    private void applyResult(Long playerId, String result, int shots, int hits) {
+        playerStatsRepository.insertIfAbsent(playerId);
+        PlayerStats stats = playerStatsRepository.findForUpdate(playerId)
+                .orElseThrow(() -> new RuntimeException("Нет строки player_stats для игрока " + playerId));
+
+        stats.recordGame(isWin(playerId, result), isDraw(result), shots, hits);
+        playerStatsRepository.save(stats);
+    }
+
+    /**
+     * Заполняет player_stats по уже сыгранным партиям, если таблица пуста.
+     * Счётчики выстрелов для старых игр недоступны и остаются нулевыми.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup || playerStatsRepository.count() > 0) {
+            return;
+        }
+
+        Map<Long, PlayerStats> statsByPlayer = new HashMap<>();
+        PageRequest page = PageRequest.of(0, BACKFILL_PAGE_SIZE, Sort.by("endDate", "gameId"));
+        Slice<GameRepository.GameHistoryRow> slice;
+        do {
+            slice = gameRepository.findHistoryByStatus(GameStatus.COMPLETED, page);
+            for (GameRepository.GameHistoryRow game : slice) {
+                Long p1 = game.getPlayer1Id();
+                Long p2 = game.getPlayer2Id();
+                statsByPlayer.computeIfAbsent(p1, this::emptyStats)
+                        .recordGame(isWin(p1, game.getResult()), isDraw(game.getResult()), 0, 0);
+                statsByPlayer.computeIfAbsent(p2, this::emptyStats)
+                        .recordGame(isWin(p2, game.getResult()), isDraw(game.getResult()), 0, 0);
+            }
+            page = page.next();
+        } while (slice.hasNext());
+
+        if (!statsByPlayer.isEmpty()) {
+            playerStatsRepository.saveAll(statsByPlayer.values());
+            log.info("player_stats заполнена для {} игроков", statsByPlayer.size());
+        }
+    }
+
+    private boolean isWin(Long playerId, String result) {
+        return result != null && result.equals(playerId.toString());
+    }
+
+    /** В результате лежит ID победителя, "DRAW" или null (ничья в checkGameOver) */
+    private boolean isDraw(String result) {
+        return result == null || "DRAW".equals(result);
+    }
+
+    private PlayerStats emptyStats(Long playerId) {
+        PlayerStats stats = new PlayerStats();
+        stats.setPlayerId(playerId);
+        return stats;
+    }
+}
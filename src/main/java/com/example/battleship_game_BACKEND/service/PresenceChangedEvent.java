@@ -0,0 +1,13 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.dto.PlayerMultiplayerDTO;
+
+/**
+ * Изменение состава лобби, публикуемое PresenceService
+ */
+public record PresenceChangedEvent(Type type, PlayerMultiplayerDTO player) {
+
+    public enum Type {
+        JOINED, LEFT, UPDATED
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.dto.PlayerMultiplayerDTO;
+import com.example.battleship_game_BACKEND.model.Player;
+import com.example.battleship_game_BACKEND.security.PlayerPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр игроков онлайн, который ведётся по событиям STOMP-сессий.
+ *
+ * Игрок считается онлайн, пока у него есть хотя бы одна открытая сессия
+ * (несколько вкладок — несколько сессий). Обрыв соединения без DISCONNECT
+ * обнаруживается по heartbeat'ам брокера и тоже приходит как SessionDisconnectEvent.
+ * Каждое изменение состава публикуется как PresenceChangedEvent для ленты лобби.
+ */
+@Service
+@RequiredArgsConstructor
+public class PresenceService {
+
+    private final PlayerCardService playerCardService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RatingService ratingService;
+
+    private final Map<Long, OnlinePlayer> onlinePlayers = new ConcurrentHashMap<>();
+
+    private static final class OnlinePlayer {
+        private final Long playerId;
+        private final String nickname;
+        private volatile String avatarUrl;
+        private final Set<String> sessionIds = ConcurrentHashMap.newKeySet();
+
+        private OnlinePlayer(Long playerId, String nickname, String avatarUrl) {
+            this.playerId = playerId;
+            this.nickname = nickname;
+            this.avatarUrl = avatarUrl;
+        }
+
+        private PlayerMultiplayerDTO toDto(int rating) {
+            return new PlayerMultiplayerDTO(playerId, nickname, avatarUrl, rating);
+        }
+    }
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        PlayerPrincipal principal = asPlayer(event.getUser());
+        String sessionId = (String) event.getMessage().getHeaders().get("simpSessionId");
+        if (principal == null || sessionId == null) {
+            return;
+        }
+        playerConnected(principal.getPlayerId(), principal.getNickname(), sessionId);
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        PlayerPrincipal principal = asPlayer(event.getUser());
+        if (principal == null) {
+            return;
+        }
+        playerDisconnected(principal.getPlayerId(), event.getSessionId());
+    }
+
+    public void playerConnected(Long playerId, String nickname, String sessionId) {
+        // Аватар читаем вне compute, чтобы не ходить в БД под блокировкой бина
+        String avatar = null;
+        if (!onlinePlayers.containsKey(playerId)) {
+            avatar = playerCardService.getCard(playerId).avatarUrl();
+        }
+        String initialAvatar = avatar != null ? avatar : Player.DEFAULT_AVATAR;
+
+        OnlinePlayer[] joined = new OnlinePlayer[1];
+        onlinePlayers.compute(playerId, (id, existing) -> {
+            OnlinePlayer entry = existing;
+            if (entry == null) {
+                entry = new OnlinePlayer(id, nickname, initialAvatar);
+                joined[0] = entry;
+            }
+            entry.sessionIds.add(sessionId);
+            return entry;
+        });
+
+        if (joined[0] != null) {
+            eventPublisher.publishEvent(new PresenceChangedEvent(PresenceChangedEvent.Type.JOINED, toDto(joined[0])));
+        }
+    }
+
+    public void playerDisconnected(Long playerId, String sessionId) {
+        OnlinePlayer[] left = new OnlinePlayer[1];
+        onlinePlayers.computeIfPresent(playerId, (id, entry) -> {
+            entry.sessionIds.remove(sessionId);
+            if (entry.sessionIds.isEmpty()) {
+                left[0] = entry;
+                return null;
+            }
+            return entry;
+        });
+
+        if (left[0] != null) {
+            eventPublisher.publishEvent(new PresenceChangedEvent(PresenceChangedEvent.Type.LEFT, toDto(left[0])));
+        }
+    }
+
+    public void updateAvatar(Long playerId, String avatarUrl) {
+        OnlinePlayer entry = onlinePlayers.get(playerId);
+        if (entry != null) {
+            entry.avatarUrl = avatarUrl;
+            eventPublisher.publishEvent(new PresenceChangedEvent(PresenceChangedEvent.Type.UPDATED, toDto(entry)));
+        }
+    }
+
+    public boolean isOnline(Long playerId) {
+        return onlinePlayers.containsKey(playerId);
+    }
+
+    public int getOnlineCount() {
+        return onlinePlayers.size();
+    }
+
+    /**
+     * Список игроков онлайн для лобби — из памяти, без запроса к БД
+     */
+    public List<PlayerMultiplayerDTO> getOnlinePlayers() {
+        List<PlayerMultiplayerDTO> result = new ArrayList<>(onlinePlayers.size());
+        for (OnlinePlayer entry : onlinePlayers.values()) {
+            result.add(toDto(entry));
+        }
+        return result;
+    }
+
+    private PlayerMultiplayerDTO toDto(OnlinePlayer entry) {
+        return entry.toDto(ratingService.getDisplayRating(entry.playerId));
+    }
+
+    private PlayerPrincipal asPlayer(Principal user) {
+        return user instanceof PlayerPrincipal principal ? principal : null;
+    }
+}
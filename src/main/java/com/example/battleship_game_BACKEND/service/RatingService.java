@@ -0,0 +1,157 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.model.GameStatus;
+import com.example.battleship_game_BACKEND.model.PlayerRating;
+import com.example.battleship_game_BACKEND.rating.EloCalculator;
+import com.example.battleship_game_BACKEND.rating.RatingBatchWriter;
+import com.example.battleship_game_BACKEND.repository.GameRepository;
+import com.example.battleship_game_BACKEND.repository.PlayerRatingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Рейтинги Elo игроков.
+ *
+ * Актуальные значения живут в памяти (чтение — O(1), пригодно для матчмейкера),
+ * пересчёт выполняется после коммита завершённой партии, а запись в БД
+ * уходит в RatingBatchWriter и не задерживает конец игры.
+ */
+@Service
+@RequiredArgsConstructor
+public class RatingService {
+
+    private static final int REPLAY_PAGE_SIZE = 500;
+
+    private final PlayerRatingRepository playerRatingRepository;
+    private final GameRepository gameRepository;
+    private final RatingBatchWriter ratingBatchWriter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, RatingState> ratings = new ConcurrentHashMap<>();
+
+    /** ReentrantLock, а не synchronized: ожидание монитора закрепило бы виртуальный поток за носителем */
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private record RatingState(double rating, int ratedGames) {
+    }
+
+    public double getRating(Long playerId) {
+        RatingState state = ratings.get(playerId);
+        return state != null ? state.rating() : EloCalculator.INITIAL_RATING;
+    }
+
+    /**
+     * Согласованный снимок всех рейтингов: playerId -> рейтинг
+     */
+    public Map<Long, Double> snapshotRatings() {
+        updateLock.lock();
+        try {
+            Map<Long, Double> snapshot = new HashMap<>(ratings.size() * 2);
+            ratings.forEach((playerId, state) -> snapshot.put(playerId, state.rating()));
+            return snapshot;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /** Рейтинг, округлённый для отображения */
+    public int getDisplayRating(Long playerId) {
+        return (int) Math.round(getRating(playerId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGameCompleted(GameCompletedEvent event) {
+        double p1Rating;
+        double p2Rating;
+        int p1RatedGames;
+        int p2RatedGames;
+        updateLock.lock();
+        try {
+            double[] updated = applyGame(event.player1Id(), event.player2Id(), event.result());
+            p1Rating = updated[0];
+            p2Rating = updated[1];
+            // Читаем под тем же локом: после unlock следующая партия игрока уже могла изменить счётчик
+            p1RatedGames = ratings.get(event.player1Id()).ratedGames();
+            p2RatedGames = ratings.get(event.player2Id()).ratedGames();
+        } finally {
+            updateLock.unlock();
+        }
+
+        ratingBatchWriter.enqueue(event.player1Id(), p1Rating, p1RatedGames);
+        ratingBatchWriter.enqueue(event.player2Id(), p2Rating, p2RatedGames);
+
+        eventPublisher.publishEvent(new RatingsUpdatedEvent(event, p1Rating, p2Rating));
+    }
+
+    /**
+     * Загружает рейтинги при старте; если таблица пуста — рассчитывает их,
+     * проигрывая завершённые партии по порядку. Выполняется раньше перестройки
+     * таблицы лидеров.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void loadRatings() {
+        updateLock.lock();
+        try {
+            reloadRatings();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void reloadRatings() {
+        ratings.clear();
+        if (playerRatingRepository.count() > 0) {
+            for (PlayerRating rating : playerRatingRepository.findAll()) {
+                ratings.put(rating.getPlayerId(), new RatingState(rating.getRating(), rating.getRatedGames()));
+            }
+            return;
+        }
+
+        PageRequest page = PageRequest.of(0, REPLAY_PAGE_SIZE, Sort.by("endDate", "gameId"));
+        Slice<GameRepository.GameHistoryRow> slice;
+        do {
+            slice = gameRepository.findHistoryByStatus(GameStatus.COMPLETED, page);
+            for (GameRepository.GameHistoryRow game : slice) {
+                applyGame(game.getPlayer1Id(), game.getPlayer2Id(), game.getResult());
+            }
+            page = page.next();
+        } while (slice.hasNext());
+
+        ratings.forEach((playerId, state) -> ratingBatchWriter.enqueue(playerId, state.rating(), state.ratedGames()));
+        ratingBatchWriter.flush();
+    }
+
+    /**
+     * @return новые рейтинги {player1, player2}
+     */
+    private double[] applyGame(Long p1Id, Long p2Id, String result) {
+        RatingState p1 = ratings.getOrDefault(p1Id, new RatingState(EloCalculator.INITIAL_RATING, 0));
+        RatingState p2 = ratings.getOrDefault(p2Id, new RatingState(EloCalculator.INITIAL_RATING, 0));
+
+        boolean draw = result == null || "DRAW".equals(result);
+        double p1Score = draw ? 0.5 : (result.equals(p1Id.toString()) ? 1.0 : 0.0);
+
+        double p1Rating = EloCalculator.newRating(p1.rating(), p2.rating(), p1Score);
+        double p2Rating = EloCalculator.newRating(p2.rating(), p1.rating(), 1.0 - p1Score);
+
+        ratings.put(p1Id, new RatingState(p1Rating, p1.ratedGames() + 1));
+        ratings.put(p2Id, new RatingState(p2Rating, p2.ratedGames() + 1));
+        return new double[]{p1Rating, p2Rating};
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.battleship_game_BACKEND.service;
+
+/**
+ * Рейтинги участников пересчитаны после завершения партии
+ */
+public record RatingsUpdatedEvent(GameCompletedEvent game, double player1Rating, double player2Rating) {
+}
@@ -0,0 +1,164 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.config.SchedulingConfig;
+import com.example.battleship_game_BACKEND.dto.GameStateDTO;
+import com.example.battleship_game_BACKEND.model.GameStatus;
+import com.example.battleship_game_BACKEND.repository.GameRepository;
+import com.example.battleship_game_BACKEND.timer.HashedWheelTimer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Часы хода: у каждой активной игры взведён один таймаут на игрока, который сейчас ходит.
+ *
+ * Все таймауты живут в одном HashedWheelTimer, поэтому взвод и отмена на каждом ходе —
+ * O(1) без отдельной задачи планировщика на игру. Если игрок не сделал ход за turnSeconds
+ * (закрыл вкладку, пропала сеть), ему засчитывается поражение тем же путём, что и при сдаче:
+ * GameCompletionService.completeGame + уведомление GAME_ENDED с reason=TIMEOUT.
+ * Так же снимаются «брошенные» партии, которые иначе висели бы в памяти вечно.
+ */
+@Service
+@Slf4j
+public class TurnTimerService {
+
+    private final GameRepository gameRepository;
+    private final InMemoryGameStateService gameStateService;
+    private final GameCompletionService gameCompletionService;
+    private final PlayerMessagingService playerMessagingService;
+
+    private final long turnMillis;
+    private final HashedWheelTimer timer;
+    /** Завершение игры ходит в БД, поэтому выполняется не в потоке таймера, а на общем исполнителе Boot */
+    private final Executor forfeitExecutor;
+
+    private final Map<Long, TurnDeadline> deadlines = new ConcurrentHashMap<>();
+
+    private static final class TurnDeadline {
+        private final Long playerId;
+        private final int shotsFired;
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private TurnDeadline(Long playerId, int shotsFired) {
+            this.playerId = playerId;
+            this.shotsFired = shotsFired;
+        }
+
+        private void cancel() {
+            HashedWheelTimer.Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    public TurnTimerService(GameRepository gameRepository,
+                            InMemoryGameStateService gameStateService,
+                            GameCompletionService gameCompletionService,
+                            PlayerMessagingService playerMessagingService,
+                            @Qualifier(SchedulingConfig.APP_SCHEDULER) TaskScheduler taskScheduler,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor forfeitExecutor,
+                            @Value("${app.turn-timer.turn-seconds:60}") long turnSeconds,
+                            @Value("${app.turn-timer.wheel-size:512}") int wheelSize) {
+        this.gameRepository = gameRepository;
+        this.gameStateService = gameStateService;
+        this.gameCompletionService = gameCompletionService;
+        this.playerMessagingService = playerMessagingService;
+        this.turnMillis = turnSeconds * 1000;
+        this.timer = new HashedWheelTimer("turn-timer", taskScheduler, 1000, wheelSize);
+        this.forfeitExecutor = forfeitExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        timer.start();
+    }
+
+    /**
+     * Взводит часы хода для игрока; предыдущий таймаут игры отменяется
+     */
+    public void arm(GameStateDTO state) {
+        Long gameId = state.getGameId();
+        Long playerId = state.getCurrentTurnPlayerId();
+        TurnDeadline deadline = new TurnDeadline(playerId, totalShots(state));
+        deadline.timeout = timer.schedule(() -> onExpired(gameId, deadline), turnMillis);
+
+        TurnDeadline previous = deadlines.put(gameId, deadline);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    public void disarm(Long gameId) {
+        TurnDeadline previous = deadlines.remove(gameId);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    public int getArmedCount() {
+        return deadlines.size();
+    }
+
+    @EventListener
+    public void onGameCompleted(GameCompletedEvent event) {
+        disarm(event.gameId());
+    }
+
+    private void onExpired(Long gameId, TurnDeadline deadline) {
+        if (!deadlines.remove(gameId, deadline)) {
+            return; // ход уже сделан или игра завершена
+        }
+        forfeitExecutor.execute(() -> forfeit(gameId, deadline));
+    }
+
+    private void forfeit(Long gameId, TurnDeadline deadline) {
+        try {
+            GameStateDTO state = gameStateService.getGameState(gameId);
+            // Ход мог прийти между срабатыванием таймера и этой проверкой
+            if (state == null
+                    || !deadline.playerId.equals(state.getCurrentTurnPlayerId())
+                    || totalShots(state) != deadline.shotsFired) {
+                return;
+            }
+
+            GameRepository.MatchHeader game = gameRepository.findHeaderById(gameId).orElse(null);
+            if (game == null || game.getGameStatus() != GameStatus.ACTIVE) {
+                gameStateService.removeGameState(gameId);
+                return;
+            }
+
+            Long loserId = deadline.playerId;
+            String result = game.getOpponentId(loserId).toString();
+
+            // Тот же путь, что и у сдачи; ход или сдача, успевшие раньше, уже завершили партию
+            if (gameCompletionService.completeGame(game, result)) {
+                log.info("Время хода истекло: игрок {} проиграл игру {}", loserId, gameId);
+                playerMessagingService.sendGameEnd(game, result, "TIMEOUT");
+            }
+        } catch (Exception e) {
+            log.error("Ошибка при завершении игры {} по таймауту", gameId, e);
+        }
+    }
+
+    private static int totalShots(GameStateDTO state) {
+        Integer player1Shots = state.getPlayer1ShotsFired();
+        Integer player2Shots = state.getPlayer2ShotsFired();
+        return (player1Shots != null ? player1Shots : 0) + (player2Shots != null ? player2Shots : 0);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.stop();
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.battleship_game_BACKEND.timer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Таймер-колесо для большого числа одинаковых таймаутов (ожидание готовности, ходы).
+ *
+ * Постановка таймаута — одна вставка в неблокирующую очередь, отмена — запись флага,
+ * поэтому тысячи таймеров не нагружают ScheduledThreadPoolExecutor с его кучей.
+ * После start() раз в tickMs задача на переданном TaskScheduler переносит новые таймауты
+ * в ячейки колеса и выполняет просроченные из текущей ячейки (запуски с фиксированной
+ * частотой не пересекаются). Точность срабатывания — один тик.
+ * Задачи выполняются в потоке планировщика и должны быть короткими.
+ */
+@Slf4j
+public class HashedWheelTimer {
+
+    private final long tickMs;
+    private final int mask;
+    private final List<Timeout>[] wheel;
+    private final ConcurrentLinkedQueue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final TaskScheduler scheduler;
+    private volatile ScheduledFuture<?> worker;
+    private final long startNanos = System.nanoTime();
+    private final String name;
+
+    /** Следующий необработанный тик; доступен только задаче advance */
+    private long tick;
+
+    public static final class Timeout {
+        private final Runnable task;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /** Отменяет таймаут; уже выполненную задачу отмена не затрагивает */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * @param wheelSize число ячеек, округляется вверх до степени двойки
+     */
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(String name, TaskScheduler scheduler, long tickMs, int wheelSize) {
+        this.name = name;
+        this.scheduler = scheduler;
+        this.tickMs = Math.max(1, tickMs);
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.mask = size - 1;
+        this.wheel = new List[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Запускает колесо; таймауты, поставленные до запуска, сработают на первом тике после их срока
+     */
+    public void start() {
+        if (worker == null) {
+            Duration tick = Duration.ofMillis(tickMs);
+            worker = scheduler.scheduleAtFixedRate(this::advance, Instant.now().plus(tick), tick);
+        }
+    }
+
+    public Timeout schedule(Runnable task, long delayMs) {
+        long deadlineTick = (elapsedMs() + Math.max(0, delayMs) + tickMs - 1) / tickMs;
+        Timeout timeout = new Timeout(task, deadlineTick);
+        pending.incrementAndGet();
+        incoming.offer(timeout);
+        return timeout;
+    }
+
+    /** Число запланированных и ещё не снятых таймаутов (включая отменённые, но не вычищенные) */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public void stop() {
+        ScheduledFuture<?> current = worker;
+        if (current != null) {
+            current.cancel(false);
+        }
+    }
+
+    private void advance() {
+        try {
+            long currentTick = elapsedMs() / tickMs;
+
+            Timeout added;
+            while ((added = incoming.poll()) != null) {
+                if (added.cancelled) {
+                    pending.decrementAndGet();
+                    continue;
+                }
+                // Просроченный до переноса таймаут попадёт в ближайшую обрабатываемую ячейку
+                wheel[(int) (Math.max(added.deadlineTick, tick) & mask)].add(added);
+            }
+
+            while (tick <= currentTick) {
+                expire(wheel[(int) (tick & mask)], tick);
+                tick++;
+            }
+        } catch (Exception e) {
+            log.error("Ошибка таймера {}", name, e);
+        }
+    }
+
+    private void expire(List<Timeout> bucket, long currentTick) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Timeout> due = new ArrayList<>();
+        bucket.removeIf(timeout -> {
+            if (timeout.cancelled) {
+                pending.decrementAndGet();
+                return true;
+            }
+            if (timeout.deadlineTick <= currentTick) {
+                due.add(timeout);
+                return true;
+            }
+            return false;
+        });
+
+        for (Timeout timeout : due) {
+            pending.decrementAndGet();
+            try {
+                timeout.task.run();
+            } catch (Exception e) {
+                log.error("Ошибка задачи таймера {}", name, e);
+            }
+        }
+    }
+
+    private long elapsedMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
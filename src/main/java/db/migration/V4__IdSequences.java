@@ -0,0 +1,47 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Последовательности для идентификаторов вместо IDENTITY-колонок.
+ *
+ * Hibernate берёт из последовательности сразу блок из ALLOCATION_SIZE id (pooled-оптимизатор)
+ * и может группировать INSERT'ы в JDBC-батчи. Pooled трактует значение последовательности
+ * как верхнюю границу блока, поэтому она начинается с max(id) + ALLOCATION_SIZE:
+ * первый блок — (max(id), max(id) + ALLOCATION_SIZE]. Стартовое значение зависит от данных,
+ * поэтому миграция на Java, а не в SQL.
+ */
+public class V4__IdSequences extends BaseJavaMigration {
+
+    /** Должен совпадать с allocationSize в @SequenceGenerator сущностей */
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String[][] SEQUENCES = {
+            {"player_seq", "player", "player_id"},
+            {"game_board_seq", "game_board", "game_board_id"},
+            {"game_seq", "game", "game_id"},
+            {"placement_strategy_seq", "placement_strategy", "strategy_id"},
+            {"cell_seq", "cell", "cell_id"}
+    };
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String[] sequence : SEQUENCES) {
+                long maxId;
+                try (ResultSet rs = statement.executeQuery(
+                        "select coalesce(max(" + sequence[2] + "), 0) from " + sequence[1])) {
+                    rs.next();
+                    maxId = rs.getLong(1);
+                }
+                statement.execute("create sequence " + sequence[0]
+                        + " start with " + (maxId + ALLOCATION_SIZE)
+                        + " increment by " + ALLOCATION_SIZE);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+-- Базовая схема: таблицы исходных сущностей в том виде, в каком их создавал ddl-auto=update.
+-- На базах, созданных Hibernate, эта версия не выполняется, а помечается
+-- как baseline (spring.flyway.baseline-on-migrate).
+
+create table if not exists player (
+    player_id     bigint generated by default as identity,
+    nickname      varchar(50)  not null,
+    password_hash varchar(255) not null,
+    avatar_url    varchar(500),
+    status        boolean      not null,
+    constraint pk_player primary key (player_id),
+    constraint uk_player_nickname unique (nickname)
+);
+
+create table if not exists game_board (
+    game_board_id    bigint generated by default as identity,
+    placement_matrix text not null,
+    constraint pk_game_board primary key (game_board_id)
+);
+
+create table if not exists game (
+    game_id        bigint generated by default as identity,
+    player1_id     bigint       not null,
+    player2_id     bigint       not null,
+    game_board1_id bigint       not null,
+    game_board2_id bigint       not null,
+    result         varchar(100),
+    start_date     timestamp(6),
+    end_date       timestamp(6),
+    game_status    varchar(255) not null,
+    game_type      varchar(255) not null,
+    constraint pk_game primary key (game_id),
+    constraint fk_game_player1 foreign key (player1_id) references player (player_id),
+    constraint fk_game_player2 foreign key (player2_id) references player (player_id),
+    constraint fk_game_board1 foreign key (game_board1_id) references game_board (game_board_id),
+    constraint fk_game_board2 foreign key (game_board2_id) references game_board (game_board_id)
+);
+
+create table if not exists cell (
+    cell_id       bigint generated by default as identity,
+    game_board_id bigint       not null,
+    cell_type     varchar(255) not null,
+    constraint pk_cell primary key (cell_id),
+    constraint uk_cell_game_board unique (game_board_id),
+    constraint fk_cell_game_board foreign key (game_board_id) references game_board (game_board_id)
+);
+
+create table if not exists placement_strategy (
+    strategy_id    bigint generated by default as identity,
+    player_id      bigint       not null,
+    strategy_name  varchar(100) not null,
+    placement_data text         not null,
+    constraint pk_placement_strategy primary key (strategy_id),
+    constraint fk_placement_strategy_player foreign key (player_id) references player (player_id)
+);
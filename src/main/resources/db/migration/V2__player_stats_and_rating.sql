@@ -0,0 +1,24 @@
+-- Агрегаты статистики и рейтинга. Этих таблиц не было в исходной схеме: базы, помеченные
+-- как baseline на V1, получают их здесь. На базах, где их уже создал ddl-auto=update,
+-- скрипт ничего не меняет.
+
+create table if not exists player_stats (
+    player_id          bigint  not null,
+    games_played       integer not null,
+    wins               integer not null,
+    losses             integer not null,
+    draws              integer not null,
+    shots_fired        bigint  not null,
+    hits               bigint  not null,
+    current_win_streak integer not null,
+    best_win_streak    integer not null,
+    constraint pk_player_stats primary key (player_id)
+);
+
+create table if not exists player_rating (
+    player_id   bigint           not null,
+    rating      double precision not null,
+    rated_games integer          not null,
+    updated_at  timestamp(6),
+    constraint pk_player_rating primary key (player_id)
+);
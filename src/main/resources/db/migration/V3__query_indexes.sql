@@ -0,0 +1,16 @@
+-- Индексы под методы репозиториев. Уникальные nickname и cell.game_board_id
+-- уже проиндексированы своими ограничениями.
+
+-- GameRepository.findByGameStatus / findHistoryByStatus: пересчёт рейтинга,
+-- статистики и таблицы лидеров идёт по статусу в порядке (end_date, game_id)
+create index if not exists idx_game_status_end on game (game_status, end_date, game_id);
+
+-- GameRepository.findHistoryAsPlayer1 / findHistoryAsPlayer2: keyset-пагинация истории игрока
+create index if not exists idx_game_player1_history on game (player1_id, end_date desc, game_id desc);
+create index if not exists idx_game_player2_history on game (player2_id, end_date desc, game_id desc);
+
+-- PlayerRepository.findByStatus: список игроков онлайн
+create index if not exists idx_player_status on player (status);
+
+-- PlacementStrategyRepository.findByPlayerPlayerId / findByPlayerAndStrategyName / existsByPlayerAndStrategyName
+create index if not exists idx_placement_strategy_player on placement_strategy (player_id, strategy_name);
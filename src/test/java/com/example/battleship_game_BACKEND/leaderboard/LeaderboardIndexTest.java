@@ -0,0 +1,111 @@
+package com.example.battleship_game_BACKEND.leaderboard;
+
+import com.example.battleship_game_BACKEND.rating.EloCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardIndexTest {
+
+    /** Тот же порядок, что и в индексе: рейтинг ↓, победы ↓, id ↑ */
+    private static final Comparator<RankedPlayer> EXPECTED_ORDER = Comparator
+            .comparingInt(RankedPlayer::displayRating).reversed()
+            .thenComparing(Comparator.comparingInt(RankedPlayer::wins).reversed())
+            .thenComparing(RankedPlayer::playerId);
+
+    @Test
+    void unknownPlayerHasNoRank() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        assertEquals(-1, index.rankOf(1L));
+        assertTrue(index.page(0, 10).isEmpty());
+    }
+
+    @Test
+    void ratingThenWinsThenIdDecideOrder() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.upsert(player(1, 1000.4, 3));
+        index.upsert(player(2, 1100, 0));
+        index.upsert(player(3, 999.6, 5));
+        index.upsert(player(4, 1000, 5));
+
+        // 1000.4 и 999.6 показываются как 1000, дальше решают победы и id
+        assertEquals(List.of(2L, 3L, 4L, 1L), ids(index.page(0, 10)));
+        assertEquals(2, index.rankOf(3L));
+        assertEquals(4, index.rankOf(1L));
+    }
+
+    @Test
+    void updateMovesPlayer() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.upsert(player(1, 1200, 1));
+        index.upsert(player(2, 1100, 1));
+
+        index.upsert(player(2, 1300, 2));
+
+        assertEquals(2, index.size());
+        assertEquals(1, index.rankOf(2L));
+        assertEquals(2, index.rankOf(1L));
+        assertEquals(1300.0, index.get(2L).rating());
+    }
+
+    @Test
+    void ratingAboveEloCapIsNotClamped() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.upsert(player(1, EloCalculator.MAX_RATING - 1, 9));
+        index.upsert(player(2, EloCalculator.MAX_RATING + 50.2, 0));
+
+        assertEquals(1, index.rankOf(2L));
+        assertEquals(EloCalculator.MAX_RATING + 50, index.get(2L).displayRating());
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomUpdates() {
+        Random random = new Random(42);
+        LeaderboardIndex index = new LeaderboardIndex();
+        Map<Long, RankedPlayer> expected = new HashMap<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(300);
+            // Узкий диапазон рейтингов: много игроков с одинаковым рейтингом
+            RankedPlayer player = player(id, 990 + random.nextInt(20), random.nextInt(4));
+            index.upsert(player);
+            expected.put(id, player);
+
+            if (i % 250 == 0) {
+                assertMatches(index, expected);
+            }
+        }
+        assertMatches(index, expected);
+    }
+
+    private static void assertMatches(LeaderboardIndex index, Map<Long, RankedPlayer> expected) {
+        List<RankedPlayer> sorted = new ArrayList<>(expected.values());
+        sorted.sort(EXPECTED_ORDER);
+
+        assertEquals(sorted.size(), index.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, index.rankOf(sorted.get(i).playerId()));
+        }
+        for (int offset = 0; offset <= sorted.size() + 10; offset += 7) {
+            int from = Math.min(offset, sorted.size());
+            int to = Math.min(offset + 10, sorted.size());
+            assertEquals(sorted.subList(from, to), index.page(offset, 10));
+        }
+    }
+
+    private static RankedPlayer player(long id, double rating, int wins) {
+        return new RankedPlayer(id, "player" + id, rating, wins, 0, 0);
+    }
+
+    private static List<Long> ids(List<RankedPlayer> players) {
+        return players.stream().map(RankedPlayer::playerId).toList();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.battleship_game_BACKEND.matchmaking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchQueueTest {
+
+    private static final int BAND_WIDTH = 100;
+    private static final long WIDEN_EVERY_MS = 5_000;
+    private static final int MAX_SPREAD = 5;
+
+    @Test
+    void sameBandPairsInArrivalOrder() {
+        MatchQueue queue = new MatchQueue(BAND_WIDTH);
+        queue.enqueue(ticket(1, 1010, 0));
+        queue.enqueue(ticket(2, 1050, 0));
+        queue.enqueue(ticket(3, 1090, 0));
+
+        List<MatchTicket[]> pairs = queue.matchRound(0, WIDEN_EVERY_MS, MAX_SPREAD);
+
+        assertEquals(List.of(List.of(1L, 2L)), ids(pairs));
+        assertTrue(queue.contains(3L));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void neighbouringBandsPairOnlyAfterWidening() {
+        MatchQueue queue = new MatchQueue(BAND_WIDTH);
+        queue.enqueue(ticket(1, 1000, 0));
+        queue.enqueue(ticket(2, 1150, 0));
+
+        assertTrue(queue.matchRound(WIDEN_EVERY_MS - 1, WIDEN_EVERY_MS, MAX_SPREAD).isEmpty());
+        assertEquals(List.of(List.of(1L, 2L)), ids(queue.matchRound(WIDEN_EVERY_MS, WIDEN_EVERY_MS, MAX_SPREAD)));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void toleranceGrowsOneBandPerStep() {
+        MatchQueue queue = new MatchQueue(BAND_WIDTH);
+        queue.enqueue(ticket(1, 1000, 0));
+        queue.enqueue(ticket(2, 1300, 0));
+
+        assertTrue(queue.matchRound(2 * WIDEN_EVERY_MS, WIDEN_EVERY_MS, MAX_SPREAD).isEmpty());
+        assertEquals(1, queue.matchRound(3 * WIDEN_EVERY_MS, WIDEN_EVERY_MS, MAX_SPREAD).size());
+    }
+
+    @Test
+    void toleranceIsCappedAtMaxSpread() {
+        MatchQueue queue = new MatchQueue(BAND_WIDTH);
+        queue.enqueue(ticket(1, 1000, 0));
+        queue.enqueue(ticket(2, 1000 + (MAX_SPREAD + 1) * BAND_WIDTH, 0));
+
+        assertTrue(queue.matchRound(1_000 * WIDEN_EVERY_MS, WIDEN_EVERY_MS, MAX_SPREAD).isEmpty());
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    void cancelledTicketIsSkipped() {
+        MatchQueue queue = new MatchQueue(BAND_WIDTH);
+        queue.enqueue(ticket(1, 1000, 0));
+        queue.enqueue(ticket(2, 1000, 0));
+
+        assertTrue(queue.cancel(1L));
+        assertFalse(queue.contains(1L));
+        assertTrue(queue.matchRound(0, WIDEN_EVERY_MS, MAX_SPREAD).isEmpty());
+
+        queue.enqueue(ticket(3, 1000, 0));
+        assertEquals(List.of(List.of(2L, 3L)), ids(queue.matchRound(0, WIDEN_EVERY_MS, MAX_SPREAD)));
+    }
+
+    @Test
+    void matchedPlayerCannotCancelOrEnqueueTwice() {
+        MatchQueue queue = new MatchQueue(BAND_WIDTH);
+        assertTrue(queue.enqueue(ticket(1, 1000, 0)));
+        assertFalse(queue.enqueue(ticket(1, 1000, 0)));
+        queue.enqueue(ticket(2, 1000, 0));
+
+        assertEquals(1, queue.matchRound(0, WIDEN_EVERY_MS, MAX_SPREAD).size());
+        assertFalse(queue.cancel(1L));
+        assertFalse(queue.cancel(2L));
+    }
+
+    @Test
+    void concurrentCancelNeverLosesOrDoublesPlayer() throws InterruptedException {
+        int players = 2_000;
+        MatchQueue queue = new MatchQueue(BAND_WIDTH);
+        for (long id = 0; id < players; id++) {
+            queue.enqueue(ticket(id, 1000 + (int) (id % 3) * BAND_WIDTH, 0));
+        }
+
+        Set<Long> cancelled = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread canceller = new Thread(() -> {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            for (long id = 0; id < players; id += 2) {
+                if (queue.cancel(id)) {
+                    cancelled.add(id);
+                }
+            }
+        });
+        canceller.start();
+
+        List<Long> matched = new ArrayList<>();
+        start.countDown();
+        while (canceller.isAlive()) {
+            collect(queue.matchRound(0, WIDEN_EVERY_MS, MAX_SPREAD), matched);
+        }
+        canceller.join();
+        collect(queue.matchRound(Long.MAX_VALUE / 2, WIDEN_EVERY_MS, MAX_SPREAD), matched);
+
+        Set<Long> matchedSet = new HashSet<>(matched);
+        assertEquals(matched.size(), matchedSet.size(), "игрок попал в две пары");
+        for (Long id : cancelled) {
+            assertFalse(matchedSet.contains(id), "отменённый игрок получил соперника: " + id);
+        }
+        assertEquals(players, matched.size() + cancelled.size() + queue.size());
+        assertTrue(queue.size() <= 1);
+    }
+
+    private static MatchTicket ticket(long playerId, int rating, long enqueuedAt) {
+        return new MatchTicket(playerId, "player" + playerId, null, rating, enqueuedAt);
+    }
+
+    private static void collect(List<MatchTicket[]> pairs, List<Long> matched) {
+        for (MatchTicket[] pair : pairs) {
+            matched.add(pair[0].getPlayerId());
+            matched.add(pair[1].getPlayerId());
+        }
+    }
+
+    private static List<List<Long>> ids(List<MatchTicket[]> pairs) {
+        List<List<Long>> result = new ArrayList<>();
+        for (MatchTicket[] pair : pairs) {
+            result.add(List.of(pair[0].getPlayerId(), pair[1].getPlayerId()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.battleship_game_BACKEND.placement;
+
+import com.example.battleship_game_BACKEND.model.ShipPlacement;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoardValidatorTest {
+
+    /** Корректный флот: 1x4, 2x3, 3x2, 4x1 без касаний */
+    private static final String[] VALID = {
+            "SSSS.SSS..",
+            "..........",
+            "SSS.SS.SS.",
+            "..........",
+            "SS.S.S.S..",
+            "..........",
+            "S.........",
+            "..........",
+            "..........",
+            "..........",
+    };
+
+    private final BoardValidator validator = new BoardValidator();
+
+    @Test
+    void validFleetIsAccepted() {
+        assertEquals(BoardValidator.Violation.NONE, validator.validateMatrix(board(VALID)));
+    }
+
+    @Test
+    void shipsTouchingByCornerAreRejected() {
+        String[] rows = VALID.clone();
+        // Одиночный корабль переезжает из строки 6 по диагонали к кораблям строки 4
+        rows[5] = "..S.......";
+        rows[6] = "..........";
+        assertEquals(BoardValidator.Violation.SHIPS_TOUCH, validator.validateMatrix(board(rows)));
+    }
+
+    @Test
+    void lShapedShipIsRejected() {
+        String[] rows = VALID.clone();
+        // Двухпалубник из строки 4 становится уголком вместо одиночного корабля из строки 6
+        rows[4] = "S..S.S.S..";
+        rows[5] = "SS........";
+        rows[6] = "..........";
+        assertEquals(BoardValidator.Violation.SHIPS_TOUCH, validator.validateMatrix(board(rows)));
+    }
+
+    @Test
+    void shipsTouchingEndToEndMergeIntoWrongFleet() {
+        String[] rows = VALID.clone();
+        // Двухпалубник и одиночный корабль строки 4 сливаются в четырёхпалубник
+        rows[4] = "SSSS.S.S..";
+        rows[6] = "..........";
+        assertEquals(BoardValidator.Violation.WRONG_FLEET, validator.validateMatrix(board(rows)));
+    }
+
+    @Test
+    void tooLongShipIsRejected() {
+        String[] rows = VALID.clone();
+        rows[0] = "SSSSS.....";
+        assertEquals(BoardValidator.Violation.BAD_SHIP_SIZE, validator.validateMatrix(board(rows)));
+    }
+
+    @Test
+    void missingShipIsRejected() {
+        String[] rows = VALID.clone();
+        rows[6] = "..........";
+        assertEquals(BoardValidator.Violation.WRONG_FLEET, validator.validateMatrix(board(rows)));
+    }
+
+    @Test
+    void extraShipIsRejected() {
+        String[] rows = VALID.clone();
+        rows[8] = "S.........";
+        assertEquals(BoardValidator.Violation.WRONG_FLEET, validator.validateMatrix(board(rows)));
+    }
+
+    @Test
+    void badDimensionsAndCellsAreRejected() {
+        Character[][] shortBoard = new Character[BoardValidator.BOARD_SIZE - 1][BoardValidator.BOARD_SIZE];
+        assertEquals(BoardValidator.Violation.BAD_DIMENSIONS, validator.validateMatrix(shortBoard));
+
+        Character[][] matrix = board(VALID);
+        matrix[9][9] = 'X';
+        assertEquals(BoardValidator.Violation.BAD_CELL, validator.validateMatrix(matrix));
+    }
+
+    @Test
+    void shipListMatchesMatrixRules() {
+        assertEquals(BoardValidator.Violation.NONE, validator.validateShips(ships(VALID)));
+
+        List<ShipPlacement> outOfBounds = new ArrayList<>(ships(VALID));
+        outOfBounds.set(0, new ShipPlacement(0, 4, 0, 7, false));
+        assertEquals(BoardValidator.Violation.OUT_OF_BOUNDS, validator.validateShips(outOfBounds));
+
+        List<ShipPlacement> overlap = new ArrayList<>(ships(VALID));
+        overlap.set(overlap.size() - 1, new ShipPlacement(9, 1, 0, 0, false));
+        assertEquals(BoardValidator.Violation.OVERLAP, validator.validateShips(overlap));
+
+        List<ShipPlacement> vertical = new ArrayList<>(ships(VALID));
+        // Четырёхпалубник переставлен вертикально в правый нижний угол
+        vertical.set(0, new ShipPlacement(0, 4, 6, 9, true));
+        assertEquals(BoardValidator.Violation.NONE, validator.validateShips(vertical));
+
+        List<ShipPlacement> touching = new ArrayList<>(ships(VALID));
+        // Одиночный корабль из (6,0) поднят вплотную под двухпалубник в (4,0)
+        touching.set(touching.size() - 1, new ShipPlacement(9, 1, 5, 0, true));
+        assertEquals(BoardValidator.Violation.SHIPS_TOUCH, validator.validateShips(touching));
+    }
+
+    private static Character[][] board(String[] rows) {
+        Character[][] matrix = new Character[BoardValidator.BOARD_SIZE][BoardValidator.BOARD_SIZE];
+        for (int row = 0; row < rows.length; row++) {
+            for (int col = 0; col < rows[row].length(); col++) {
+                matrix[row][col] = rows[row].charAt(col) == 'S' ? 'S' : ' ';
+            }
+        }
+        return matrix;
+    }
+
+    /** Горизонтальные корабли из строк поля в порядке обхода */
+    private static List<ShipPlacement> ships(String[] rows) {
+        List<ShipPlacement> ships = new ArrayList<>();
+        for (int row = 0; row < rows.length; row++) {
+            int col = 0;
+            while (col < rows[row].length()) {
+                if (rows[row].charAt(col) != 'S') {
+                    col++;
+                    continue;
+                }
+                int start = col;
+                while (col < rows[row].length() && rows[row].charAt(col) == 'S') {
+                    col++;
+                }
+                ships.add(new ShipPlacement(ships.size(), col - start, row, start, false));
+            }
+        }
+        return ships;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.battleship_game_BACKEND.rating;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EloCalculatorTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void equalRatingsExpectHalf() {
+        assertEquals(0.5, EloCalculator.expectedScore(1000, 1000), DELTA);
+    }
+
+    @Test
+    void fourHundredPointsIsTenToOne() {
+        assertEquals(10.0 / 11.0, EloCalculator.expectedScore(1400, 1000), DELTA);
+        assertEquals(1.0 / 11.0, EloCalculator.expectedScore(1000, 1400), DELTA);
+    }
+
+    @Test
+    void winBetweenEqualsGainsHalfK() {
+        double winner = EloCalculator.newRating(1000, 1000, 1.0);
+        double loser = EloCalculator.newRating(1000, 1000, 0.0);
+
+        assertEquals(1000 + EloCalculator.K_FACTOR / 2, winner, DELTA);
+        assertEquals(1000 - EloCalculator.K_FACTOR / 2, loser, DELTA);
+    }
+
+    @Test
+    void drawMovesRatingsTowardEachOther() {
+        double stronger = EloCalculator.newRating(1200, 1000, 0.5);
+        double weaker = EloCalculator.newRating(1000, 1200, 0.5);
+
+        assertTrue(stronger < 1200);
+        assertTrue(weaker > 1000);
+        // Сумма рейтингов сохраняется при одинаковом K
+        assertEquals(2200, stronger + weaker, DELTA);
+    }
+
+    @Test
+    void upsetGainsMoreThanExpectedWin() {
+        double upsetGain = EloCalculator.newRating(1000, 1400, 1.0) - 1000;
+        double expectedGain = EloCalculator.newRating(1400, 1000, 1.0) - 1400;
+
+        assertTrue(upsetGain > expectedGain);
+        assertEquals(EloCalculator.K_FACTOR, upsetGain + expectedGain, DELTA);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.battleship_game_BACKEND.service;
+
+import com.example.battleship_game_BACKEND.dto.PlayerCard;
+import com.example.battleship_game_BACKEND.model.GameStatus;
+import com.example.battleship_game_BACKEND.repository.GameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GameCompletionServiceTest {
+
+    private static final Long GAME_ID = 7L;
+    private static final Long PLAYER1 = 1L;
+    private static final Long PLAYER2 = 2L;
+
+    private GameRepository gameRepository;
+    private PlayerStatsService playerStatsService;
+    private ApplicationEventPublisher eventPublisher;
+    private InMemoryGameStateService gameStateService;
+    private GameCompletionService service;
+    private GameRepository.MatchHeader header;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository = mock(GameRepository.class);
+        playerStatsService = mock(PlayerStatsService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        gameStateService = mock(InMemoryGameStateService.class);
+        PlayerCardService playerCardService = mock(PlayerCardService.class);
+        when(playerCardService.getCard(anyLong()))
+                .thenAnswer(inv -> new PlayerCard(inv.getArgument(0), "p" + inv.getArgument(0), null, 1000));
+
+        // Как в базе: условный UPDATE меняет строку только пока партия ACTIVE
+        AtomicBoolean active = new AtomicBoolean(true);
+        when(gameRepository.completeActiveGame(eq(GAME_ID), any(), any(LocalDateTime.class)))
+                .thenAnswer(inv -> active.getAndSet(false) ? 1 : 0);
+
+        header = mock(GameRepository.MatchHeader.class);
+        when(header.getGameId()).thenReturn(GAME_ID);
+        when(header.getPlayer1Id()).thenReturn(PLAYER1);
+        when(header.getPlayer2Id()).thenReturn(PLAYER2);
+        when(header.getGameStatus()).thenReturn(GameStatus.ACTIVE);
+
+        service = new GameCompletionService(gameRepository, gameStateService, playerStatsService,
+                eventPublisher, playerCardService);
+    }
+
+    @Test
+    void secondCompletionOfSameGameIsIgnored() {
+        assertTrue(service.completeGame(header, PLAYER2.toString()));
+        // Например, таймаут хода сработал после сдачи
+        assertFalse(service.completeGame(header, PLAYER1.toString()));
+
+        verify(playerStatsService, times(1)).recordGameResult(eq(PLAYER1), eq(PLAYER2), eq(PLAYER2.toString()), any());
+        verify(playerStatsService, never()).recordGameResult(any(), any(), eq(PLAYER1.toString()), any());
+        verify(eventPublisher, times(1)).publishEvent(any(GameCompletedEvent.class));
+        verify(gameStateService, times(1)).removeGameState(GAME_ID);
+    }
+
+    @Test
+    void gameNoLongerActiveIsNotCompleted() {
+        // Партию уже отменил губернатор живых игр
+        when(gameRepository.completeActiveGame(eq(GAME_ID), any(), any(LocalDateTime.class))).thenReturn(0);
+
+        assertFalse(service.completeGame(header, "DRAW"));
+
+        verify(playerStatsService, never()).recordGameResult(any(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any(GameCompletedEvent.class));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.battleship_game_BACKEND.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedWheelTimerTest {
+
+    private static final long TICK_MS = 10;
+    /** Колесо на 4 ячейки: таймаут в 100 мс проходит его больше двух раз */
+    private static final int WHEEL_SIZE = 4;
+
+    private ThreadPoolTaskScheduler scheduler;
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.initialize();
+        timer = new HashedWheelTimer("test-timer", scheduler, TICK_MS, WHEEL_SIZE);
+        timer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void timeoutLongerThanWheelFiresAfterItsDeadline() throws InterruptedException {
+        long delayMs = 100;
+        CountDownLatch fired = new CountDownLatch(1);
+        long startNanos = System.nanoTime();
+        long[] firedAfterMs = new long[1];
+
+        timer.schedule(() -> {
+            firedAfterMs[0] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            fired.countDown();
+        }, delayMs);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        // Точность — один тик: раньше срока минус тик таймаут сработать не может
+        assertTrue(firedAfterMs[0] >= delayMs - TICK_MS, "сработал через " + firedAfterMs[0] + " мс");
+        assertEquals(0, timer.getPendingCount());
+    }
+
+    @Test
+    void timeoutsFireInDeadlineOrderAcrossRounds() throws InterruptedException {
+        List<Long> order = new CopyOnWriteArrayList<>();
+        CountDownLatch fired = new CountDownLatch(3);
+        for (long delayMs : new long[]{120, 40, 80}) {
+            timer.schedule(() -> {
+                order.add(delayMs);
+                fired.countDown();
+            }, delayMs);
+        }
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of(40L, 80L, 120L), order);
+    }
+
+    @Test
+    void cancelledTimeoutDoesNotFire() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch control = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout cancelled = timer.schedule(runs::incrementAndGet, 60);
+        timer.schedule(control::countDown, 120);
+        cancelled.cancel();
+
+        assertTrue(cancelled.isCancelled());
+        assertTrue(control.await(2, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+        assertEquals(0, timer.getPendingCount());
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheWheel() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        timer.schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, 20);
+        timer.schedule(fired::countDown, 60);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+    }
+}